@@ -3,17 +3,31 @@ Import modules from submodules.
 """
 from digitalhub_core.entities.artifacts.crud import (
     delete_artifact,
+    delete_artifact_async,
     get_artifact,
+    get_artifact_async,
     import_artifact,
+    list_artifacts,
     new_artifact,
+    new_artifact_async,
+    new_artifacts,
     update_artifact,
+    update_artifact_async,
+    update_artifacts,
 )
 from digitalhub_core.entities.dataitems.crud import (
     delete_dataitem,
+    delete_dataitem_async,
     get_dataitem,
+    get_dataitem_async,
     import_dataitem,
+    list_dataitems,
     new_dataitem,
+    new_dataitem_async,
+    new_dataitems,
     update_dataitem,
+    update_dataitem_async,
+    update_dataitems,
 )
 from digitalhub_core.entities.functions.crud import (
     delete_function,
@@ -3,13 +3,16 @@ Client builder module.
 """
 from __future__ import annotations
 
+import os
 import typing
 
 from digitalhub_core.client.objects.dhcore import ClientDHCore
 from digitalhub_core.client.objects.local import ClientLocal
+from digitalhub_core.client.objects.local_async import AsyncClientLocal
+from digitalhub_core.client.objects.local_sqlite import ClientLocalSQLite
 
 if typing.TYPE_CHECKING:
-    from digitalhub_core.client.objects.base import Client
+    from digitalhub_core.client.objects.base import AsyncClient, Client
 
 
 class ClientBuilder:
@@ -19,10 +22,13 @@ class ClientBuilder:
 
     def __init__(self) -> None:
         self._client = None
+        self._async_client = None
 
     def build(self, local: bool = False) -> Client:
         """
         Method to create a client instance.
+        If the DIGITALHUB_LOCAL_DB environment variable is set, the local
+        client persists objects in the SQLite database at that path.
 
         Parameters
         ----------
@@ -36,11 +42,37 @@ class ClientBuilder:
         """
         if self._client is None:
             if local:
-                self._client = ClientLocal()
+                db_path = os.getenv("DIGITALHUB_LOCAL_DB")
+                self._client = ClientLocalSQLite(db_path) if db_path else ClientLocal()
             else:
                 self._client = ClientDHCore()
         return self._client
 
+    def build_async(self, local: bool = False) -> AsyncClient:
+        """
+        Method to create an asynchronous client instance.
+        The remote client requires the optional httpx dependency.
+
+        Parameters
+        ----------
+        local : bool
+            Whether to create a local client or not.
+
+        Returns
+        -------
+        AsyncClient
+            Returns the asynchronous client instance.
+        """
+        if self._async_client is None:
+            if local:
+                self._async_client = AsyncClientLocal(self.build(local))
+            else:
+                # httpx is an optional dependency, import only when needed
+                from digitalhub_core.client.objects.dhcore_async import AsyncClientDHCore
+
+                self._async_client = AsyncClientDHCore()
+        return self._async_client
+
 
 def get_client(local: bool = False) -> Client:
     """
@@ -59,4 +91,21 @@ def get_client(local: bool = False) -> Client:
     return client_builder.build(local)
 
 
+def get_async_client(local: bool = False) -> AsyncClient:
+    """
+    Wrapper around ClientBuilder.build_async.
+
+    Parameters
+    ----------
+    local : bool
+        Whether to create a local client or not.
+
+    Returns
+    -------
+    AsyncClient
+        The asynchronous client instance.
+    """
+    return client_builder.build_async(local)
+
+
 client_builder = ClientBuilder()
@@ -4,6 +4,10 @@ Client Base module.
 from __future__ import annotations
 
 from abc import abstractmethod
+from typing import Iterator
+
+# Objects fetched per page by list_objects
+DEFAULT_PAGE_SIZE = 100
 
 
 class Client:
@@ -35,6 +39,123 @@ class Client:
         Delete object method.
         """
 
+    def read_object_conditional(self, api: str, etag: str | None = None) -> tuple[dict | None, str | None]:
+        """
+        Read an object only if it changed since the given ETag. Clients that
+        support conditional requests should override this method, the default
+        implementation always reads the object and returns no ETag.
+
+        Parameters
+        ----------
+        api : str
+            The api to get the object with.
+        etag : str
+            The ETag of the cached object.
+
+        Returns
+        -------
+        tuple[dict | None, str | None]
+            The object, None if not modified, and its ETag.
+        """
+        return self.read_object(api), None
+
+    def list_objects(self, api: str, params: dict | None = None, page_size: int = DEFAULT_PAGE_SIZE) -> Iterator[dict]:
+        """
+        List objects lazily, fetching them one page at a time. Supported
+        filters are name, kind, labels (objects must have all of them) and
+        since (objects created at or after an ISO timestamp).
+
+        Parameters
+        ----------
+        api : str
+            The api to list the objects with.
+        params : dict
+            Filters.
+        page_size : int
+            Objects fetched per page.
+
+        Returns
+        -------
+        Iterator[dict]
+            The objects.
+        """
+        raise NotImplementedError("Client does not support listing objects.")
+
+    def create_objects(self, objs: list[dict], api: str) -> list[dict]:
+        """
+        Create many objects with the same api. Clients should override
+        this method to batch or pipeline the requests.
+
+        Parameters
+        ----------
+        objs : list[dict]
+            The objects to create.
+        api : str
+            The api to create the objects with.
+
+        Returns
+        -------
+        list[dict]
+            The created objects, in the same order.
+        """
+        return [self.create_object(obj, api) for obj in objs]
+
+    def update_objects(self, objs: list[dict], apis: list[str]) -> list[dict]:
+        """
+        Update many objects, each one with its own api. Clients should
+        override this method to batch or pipeline the requests.
+
+        Parameters
+        ----------
+        objs : list[dict]
+            The objects to update.
+        apis : list[str]
+            The apis to update the objects with.
+
+        Returns
+        -------
+        list[dict]
+            The updated objects, in the same order.
+        """
+        return [self.update_object(obj, api) for obj, api in zip(objs, apis)]
+
+    @staticmethod
+    @abstractmethod
+    def is_local() -> bool:
+        """
+        Flag to check if client is local.
+        """
+
+
+class AsyncClient:
+    """
+    Base asynchronous Client class.
+    """
+
+    @abstractmethod
+    async def create_object(self, obj: dict, api: str) -> dict:
+        """
+        Create object method.
+        """
+
+    @abstractmethod
+    async def read_object(self, api: str) -> dict:
+        """
+        Read object method.
+        """
+
+    @abstractmethod
+    async def update_object(self, obj: dict, api: str) -> dict:
+        """
+        Update object method.
+        """
+
+    @abstractmethod
+    async def delete_object(self, api: str) -> dict:
+        """
+        Delete object method.
+        """
+
     @staticmethod
     @abstractmethod
     def is_local() -> bool:
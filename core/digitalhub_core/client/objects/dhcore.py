@@ -4,18 +4,72 @@ DHCore Client module.
 from __future__ import annotations
 
 import os
+import random
+from concurrent.futures import ThreadPoolExecutor
+from typing import Iterator
 
 import requests
-from digitalhub_core.client.objects.base import Client
+from digitalhub_core.client.objects.base import DEFAULT_PAGE_SIZE, Client
 from digitalhub_core.utils.exceptions import BackendError
+from requests.adapters import HTTPAdapter
+from urllib3.util.retry import Retry
+
+# HTTP session defaults, overridable with environment variables
+DEFAULT_CONNECT_TIMEOUT = 10.0
+DEFAULT_READ_TIMEOUT = 60.0
+DEFAULT_MAX_RETRIES = 3
+DEFAULT_BACKOFF_FACTOR = 0.5
+DEFAULT_POOL_SIZE = 10
+
+# Status codes on which idempotent requests are retried
+RETRY_STATUSES = [429, 502, 503, 504]
+
+
+class JitterRetry(Retry):
+    """
+    Retry policy with full jitter: every backoff is drawn uniformly between
+    zero and the exponential backoff, so concurrent clients do not retry
+    in lockstep.
+    """
+
+    def get_backoff_time(self) -> float:
+        """
+        Get the backoff time before the next retry.
+
+        Returns
+        -------
+        float
+            Seconds to sleep.
+        """
+        backoff = super().get_backoff_time()
+        return random.uniform(0, backoff) if backoff > 0 else 0
 
 
 class ClientDHCore(Client):
     """
     The client. It's a singleton. Use the builder to get an instance.
     It is used to make requests to the DHCore API.
+    Requests go through a long-lived HTTP session, so connections are kept
+    alive and pooled. Idempotent requests (GET, PUT, DELETE) are retried with
+    jittered exponential backoff on connection errors and on 429/502/503/504.
+    The session is configured once from the environment:
+    DIGITALHUB_CORE_CONNECT_TIMEOUT, DIGITALHUB_CORE_TIMEOUT (read timeout),
+    DIGITALHUB_CORE_MAX_RETRIES, DIGITALHUB_CORE_BACKOFF_FACTOR and
+    DIGITALHUB_CORE_POOL_SIZE.
     """
 
+    def __init__(self) -> None:
+        """
+        Constructor.
+        """
+        self._endpoint: str | None = None
+        self._timeout = (
+            float(os.getenv("DIGITALHUB_CORE_CONNECT_TIMEOUT", DEFAULT_CONNECT_TIMEOUT)),
+            float(os.getenv("DIGITALHUB_CORE_TIMEOUT", DEFAULT_READ_TIMEOUT)),
+        )
+        self._pool_size = int(os.getenv("DIGITALHUB_CORE_POOL_SIZE", DEFAULT_POOL_SIZE))
+        self._session = self._build_session()
+
     def create_object(self, obj: dict, api: str) -> dict:
         """
         Create an object.
@@ -50,6 +104,62 @@ class ClientDHCore(Client):
         """
         return self._call("GET", api)
 
+    def read_object_conditional(self, api: str, etag: str | None = None) -> tuple[dict | None, str | None]:
+        """
+        Get an object with an If-None-Match request.
+
+        Parameters
+        ----------
+        api : str
+            The api to get the object with.
+        etag : str
+            The ETag of the cached object.
+
+        Returns
+        -------
+        tuple[dict | None, str | None]
+            The object, None if not modified, and its ETag.
+        """
+        headers = {"If-None-Match": etag} if etag is not None else {}
+        response = self._request("GET", api, headers=headers)
+        if response.status_code == 304:
+            return None, etag
+        return response.json(), response.headers.get("ETag")
+
+    def list_objects(self, api: str, params: dict | None = None, page_size: int = DEFAULT_PAGE_SIZE) -> Iterator[dict]:
+        """
+        List objects lazily. Filters are sent as query parameters and applied
+        by the backend, then pages are requested one at a time while iterating.
+
+        Parameters
+        ----------
+        api : str
+            The api to list the objects with.
+        params : dict
+            Filters.
+        page_size : int
+            Objects fetched per page.
+
+        Returns
+        -------
+        Iterator[dict]
+            The objects.
+        """
+        query = {k: v for k, v in (params or {}).items() if v is not None}
+        if "labels" in query:
+            query["labels"] = ",".join(query["labels"])
+        page = 0
+        while True:
+            resp = self._call("GET", api, params={**query, "page": page, "size": page_size})
+            if isinstance(resp, list):
+                yield from resp
+                return
+            content = resp.get("content", [])
+            yield from content
+            if resp.get("last", True) or not content:
+                return
+            page += 1
+
     def update_object(self, obj: dict, api: str) -> dict:
         """
         Update an object.
@@ -87,9 +197,72 @@ class ClientDHCore(Client):
             resp = {"deleted": resp}
         return resp
 
+    def create_objects(self, objs: list[dict], api: str) -> list[dict]:
+        """
+        Create many objects. Requests are pipelined over the pooled
+        connections of the session.
+
+        Parameters
+        ----------
+        objs : list[dict]
+            The objects to create.
+        api : str
+            The api to create the objects with.
+
+        Returns
+        -------
+        list[dict]
+            The created objects, in the same order.
+        """
+        return self._call_many("POST", [api] * len(objs), objs)
+
+    def update_objects(self, objs: list[dict], apis: list[str]) -> list[dict]:
+        """
+        Update many objects. Requests are pipelined over the pooled
+        connections of the session.
+
+        Parameters
+        ----------
+        objs : list[dict]
+            The objects to update.
+        apis : list[str]
+            The apis to update the objects with.
+
+        Returns
+        -------
+        list[dict]
+            The updated objects, in the same order.
+        """
+        return self._call_many("PUT", apis, objs)
+
+    def _call_many(self, call_type: str, apis: list[str], objs: list[dict]) -> list[dict]:
+        """
+        Make many calls to the DHCore API concurrently, one per pooled
+        connection at most. If a call fails, the error of the first failed
+        call in order is raised.
+
+        Parameters
+        ----------
+        call_type : str
+            The type of call to make.
+        apis : list[str]
+            The apis to call.
+        objs : list[dict]
+            The request bodies.
+
+        Returns
+        -------
+        list[dict]
+            The response objects, in the same order.
+        """
+        if len(objs) <= 1:
+            return [self._call(call_type, api, json=obj) for api, obj in zip(apis, objs)]
+        with ThreadPoolExecutor(max_workers=min(self._pool_size, len(objs))) as executor:
+            return list(executor.map(lambda args: self._call(call_type, args[0], json=args[1]), zip(apis, objs)))
+
     def _call(self, call_type: str, api: str, **kwargs) -> dict:
         """
-        Make a call to the DHCore API.
+        Make a call to the DHCore API and return the decoded body.
         Keyword arguments are passed to the session.request function.
 
         Parameters
@@ -106,13 +279,41 @@ class ClientDHCore(Client):
         dict
             The response object.
         """
-        url = self._get_endpoint() + api
-        kwargs["auth"] = self._get_auth()
+        return self._request(call_type, api, **kwargs).json()
+
+    def _request(self, call_type: str, api: str, **kwargs) -> requests.Response:
+        """
+        Make a call to the DHCore API.
+        Keyword arguments are passed to the session.request function.
+
+        Parameters
+        ----------
+        call_type : str
+            The type of call to make.
+        api : str
+            The api to call.
+        **kwargs
+            Keyword arguments.
+
+        Returns
+        -------
+        requests.Response
+            The response.
+
+        Raises
+        ------
+        BackendError
+            If the backend is unreachable or returns an error status.
+        """
+        if self._endpoint is None:
+            self._endpoint = self._get_endpoint()
+        url = self._endpoint + api
+        kwargs.setdefault("timeout", self._timeout)
         response = None
         try:
-            response = requests.request(call_type, url, timeout=60, **kwargs)
+            response = self._session.request(call_type, url, **kwargs)
             response.raise_for_status()
-            return response.json()
+            return response
         except requests.exceptions.RequestException:
             if response is None:
                 msg = "Unable to connect to DHCore backend."
@@ -120,6 +321,31 @@ class ClientDHCore(Client):
                 msg = f"Backend error: {response.status_code} - {response.text}"
             raise BackendError(msg)
 
+    def _build_session(self) -> requests.Session:
+        """
+        Build the HTTP session shared by every call.
+
+        Returns
+        -------
+        requests.Session
+            The session.
+        """
+        retry = JitterRetry(
+            total=int(os.getenv("DIGITALHUB_CORE_MAX_RETRIES", DEFAULT_MAX_RETRIES)),
+            backoff_factor=float(os.getenv("DIGITALHUB_CORE_BACKOFF_FACTOR", DEFAULT_BACKOFF_FACTOR)),
+            status_forcelist=RETRY_STATUSES,
+            allowed_methods=Retry.DEFAULT_ALLOWED_METHODS,
+            respect_retry_after_header=True,
+            raise_on_status=False,
+        )
+        adapter = HTTPAdapter(pool_connections=self._pool_size, pool_maxsize=self._pool_size, max_retries=retry)
+        session = requests.Session()
+        session.mount("http://", adapter)
+        session.mount("https://", adapter)
+        session.headers.update({"Accept": "application/json", "Accept-Encoding": "gzip, deflate"})
+        session.auth = self._get_auth()
+        return session
+
     @staticmethod
     def _get_endpoint() -> str:
         """
@@ -0,0 +1,284 @@
+"""
+Async DHCore Client module.
+"""
+from __future__ import annotations
+
+import asyncio
+import os
+import random
+from typing import AsyncIterator
+
+import httpx
+from digitalhub_core.client.objects.base import AsyncClient
+from digitalhub_core.client.objects.dhcore import (
+    DEFAULT_BACKOFF_FACTOR,
+    DEFAULT_CONNECT_TIMEOUT,
+    DEFAULT_MAX_RETRIES,
+    DEFAULT_POOL_SIZE,
+    DEFAULT_READ_TIMEOUT,
+    RETRY_STATUSES,
+    ClientDHCore,
+)
+from digitalhub_core.utils.exceptions import BackendError
+
+# Methods that can be safely retried once the request reached the server
+IDEMPOTENT_METHODS = ["GET", "HEAD", "PUT", "DELETE", "OPTIONS"]
+
+
+class AsyncClientDHCore(AsyncClient):
+    """
+    The asynchronous client. It's a singleton. Use the builder to get an instance.
+    It is used to make concurrent requests to the DHCore API from asyncio code.
+    Requests go through a pooled httpx.AsyncClient configured from the same
+    environment variables of ClientDHCore. Calls exceeding the pool size wait
+    for a free connection instead of failing. Every event loop gets its own
+    HTTP client, closed when the loop shuts down (e.g. at the end of
+    asyncio.run()) or by aclose().
+    """
+
+    def __init__(self) -> None:
+        """
+        Constructor.
+        """
+        self._endpoint: str | None = None
+        self._max_retries = int(os.getenv("DIGITALHUB_CORE_MAX_RETRIES", DEFAULT_MAX_RETRIES))
+        self._backoff_factor = float(os.getenv("DIGITALHUB_CORE_BACKOFF_FACTOR", DEFAULT_BACKOFF_FACTOR))
+        self._client: httpx.AsyncClient | None = None
+        self._loop: asyncio.AbstractEventLoop | None = None
+        self._guards: list[AsyncIterator[None]] = []
+
+    async def create_object(self, obj: dict, api: str) -> dict:
+        """
+        Create an object.
+
+        Parameters
+        ----------
+        obj : dict
+            The object to create.
+        api : str
+            The api to create the object with.
+
+        Returns
+        -------
+        dict
+            The created object.
+        """
+        return await self._call("POST", api, json=obj)
+
+    async def read_object(self, api: str) -> dict:
+        """
+        Get an object.
+
+        Parameters
+        ----------
+        api : str
+            The api to get the object with.
+
+        Returns
+        -------
+        dict
+            The object.
+        """
+        return await self._call("GET", api)
+
+    async def update_object(self, obj: dict, api: str) -> dict:
+        """
+        Update an object.
+
+        Parameters
+        ----------
+        obj : dict
+            The object to update.
+        api : str
+            The api to update the object with.
+
+        Returns
+        -------
+        dict
+            The updated object.
+        """
+        return await self._call("PUT", api, json=obj)
+
+    async def delete_object(self, api: str) -> dict:
+        """
+        Delete an object.
+
+        Parameters
+        ----------
+        api : str
+            The api to delete the object with.
+
+        Returns
+        -------
+        dict
+            A generic dictionary.
+        """
+        resp = await self._call("DELETE", api)
+        if isinstance(resp, bool):
+            resp = {"deleted": resp}
+        return resp
+
+    async def aclose(self) -> None:
+        """
+        Close the HTTP client of the running event loop and its connections.
+
+        Returns
+        -------
+        None
+        """
+        if self._client is not None and self._loop is asyncio.get_running_loop():
+            await self._client.aclose()
+            self._client = None
+            self._loop = None
+
+    async def _call(self, call_type: str, api: str, **kwargs) -> dict:
+        """
+        Make a call to the DHCore API.
+        Keyword arguments are passed to the httpx.AsyncClient.request function.
+        Calls are retried with jittered exponential backoff when the connection
+        cannot be established. Idempotent calls are also retried on other
+        transport errors and on 429/502/503/504. This is the only retry layer,
+        the transport does not retry on its own.
+
+        Parameters
+        ----------
+        call_type : str
+            The type of call to make.
+        api : str
+            The api to call.
+        **kwargs
+            Keyword arguments.
+
+        Returns
+        -------
+        dict
+            The response object.
+        """
+        if self._endpoint is None:
+            self._endpoint = ClientDHCore._get_endpoint()
+        url = self._endpoint + api
+        client = await self._get_client()
+        idempotent = call_type in IDEMPOTENT_METHODS
+        response = None
+        for attempt in range(self._max_retries + 1):
+            retry = attempt < self._max_retries
+            try:
+                response = await client.request(call_type, url, **kwargs)
+            except (httpx.ConnectError, httpx.ConnectTimeout):
+                # The request was not sent, any method can be retried
+                if retry:
+                    await self._backoff(attempt)
+                    continue
+                raise BackendError("Unable to connect to DHCore backend.")
+            except httpx.TransportError:
+                if idempotent and retry:
+                    await self._backoff(attempt)
+                    continue
+                raise BackendError("Unable to connect to DHCore backend.")
+            if response.status_code in RETRY_STATUSES and idempotent and retry:
+                await self._backoff(attempt)
+                continue
+            break
+        if response.is_error:
+            raise BackendError(f"Backend error: {response.status_code} - {response.text}")
+        return response.json()
+
+    async def _get_client(self) -> httpx.AsyncClient:
+        """
+        Get the HTTP client of the running event loop. httpx clients are bound
+        to the loop they are first used in, so a new one is built when the
+        loop changes (e.g. on consecutive asyncio.run()). The previous client
+        is not dropped: it is closed by the shutdown of its own loop.
+
+        Returns
+        -------
+        httpx.AsyncClient
+            The HTTP client.
+        """
+        loop = asyncio.get_running_loop()
+        if self._client is None or self._loop is not loop:
+            client = self._build_client()
+            guard = self._close_on_shutdown(client)
+            await guard.__anext__()
+            self._guards.append(guard)
+            self._client = client
+            self._loop = loop
+        return self._client
+
+    async def _close_on_shutdown(self, client: httpx.AsyncClient) -> AsyncIterator[None]:
+        """
+        Async generator suspended for the whole life of a client. Event loops
+        close the pending async generators when they shut down
+        (loop.shutdown_asyncgens(), called by asyncio.run()), so the client is
+        closed in its own loop before the loop is closed.
+
+        Parameters
+        ----------
+        client : httpx.AsyncClient
+            The HTTP client.
+
+        Yields
+        ------
+        None
+        """
+        try:
+            yield
+        finally:
+            await client.aclose()
+            self._guards = [g for g in self._guards if g.ag_frame is not None]
+            if self._client is client:
+                self._client = None
+                self._loop = None
+
+    @staticmethod
+    def _build_client() -> httpx.AsyncClient:
+        """
+        Build the HTTP client.
+
+        Returns
+        -------
+        httpx.AsyncClient
+            The HTTP client.
+        """
+        pool_size = int(os.getenv("DIGITALHUB_CORE_POOL_SIZE", DEFAULT_POOL_SIZE))
+        limits = httpx.Limits(max_connections=pool_size, max_keepalive_connections=pool_size)
+        timeout = httpx.Timeout(
+            float(os.getenv("DIGITALHUB_CORE_TIMEOUT", DEFAULT_READ_TIMEOUT)),
+            connect=float(os.getenv("DIGITALHUB_CORE_CONNECT_TIMEOUT", DEFAULT_CONNECT_TIMEOUT)),
+            pool=None,
+        )
+        transport = httpx.AsyncHTTPTransport(limits=limits)
+        return httpx.AsyncClient(
+            auth=ClientDHCore._get_auth(),
+            headers={"Accept": "application/json", "Accept-Encoding": "gzip, deflate"},
+            timeout=timeout,
+            transport=transport,
+        )
+
+    async def _backoff(self, attempt: int) -> None:
+        """
+        Sleep before a retry, drawing the delay uniformly between zero
+        and the exponential backoff.
+
+        Parameters
+        ----------
+        attempt : int
+            The attempt that failed, starting from 0.
+
+        Returns
+        -------
+        None
+        """
+        await asyncio.sleep(random.uniform(0, self._backoff_factor * 2**attempt))
+
+    @staticmethod
+    def is_local() -> bool:
+        """
+        Declare if Client is local.
+
+        Returns
+        -------
+        bool
+            False
+        """
+        return False
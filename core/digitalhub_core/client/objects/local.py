@@ -1,9 +1,11 @@
 """
 Local Client module.
 """
-from copy import deepcopy
+from datetime import datetime
+from threading import Lock, RLock
+from typing import Iterator
 
-from digitalhub_core.client.objects.base import Client
+from digitalhub_core.client.objects.base import DEFAULT_PAGE_SIZE, Client
 from digitalhub_core.utils.commons import ARTF, DTIT, FUNC, MDLS, PROJ, RUNS, TASK, WKFL
 from digitalhub_core.utils.exceptions import BackendError
 
@@ -12,6 +14,15 @@ class ClientLocal(Client):
     """
     The local client. Use the builder to get an instance.
     It is used to keep objects in memory.
+    Unversioned objects are stored as _db[dto][name]. Versioned objects are
+    indexed by project, as _db[dto][project][name][uuid | "latest"], so that
+    project reads only visit the entities of the project. Stored objects are
+    never modified in place: writes replace them, reads of projects return
+    shallow copies.
+    The client is thread-safe. Writes are serialized by a lock per
+    (dto, project) stripe, and the versions of an object are published
+    copy-on-write with a single assignment, so readers never see a version
+    without its "latest" pointer. Reads of single objects take no lock.
     """
 
     def __init__(self) -> None:
@@ -28,6 +39,8 @@ class ClientLocal(Client):
             WKFL: {},
             MDLS: {},
         }
+        self._locks: dict[tuple, RLock] = {}
+        self._locks_guard = Lock()
 
     ########################
     # CRUD
@@ -49,27 +62,30 @@ class ClientLocal(Client):
         dict
             The created object.
         """
-        project, dto, name, uuid, code = self._parse_api(api)
-        try:
-            if project is None:
-                name = obj["name"] if dto == PROJ else obj["id"]
-                if name in self._db[dto]:
-                    code = 5
-                    raise ValueError
-                self._db[dto][name] = obj
-            else:
-                name = obj["name"]
-                uuid = obj["id"]
-                self._db[dto].setdefault(name, {})
-                self._db[dto][name][uuid] = obj
-                self._db[dto][name]["latest"] = obj  # For versioned objects set also latest version
-            return obj
-        except (KeyError, TypeError):
-            msg = self._format_msg(code)
-            raise BackendError(msg)
-        except ValueError:
-            msg = self._format_msg(code, dto=dto, name=name)
-            raise BackendError(msg)
+        project, dto, _, _, code = self._parse_api(api)
+        with self._get_lock(dto, project):
+            return self._insert_object(obj, project, dto, code)
+
+    def create_objects(self, objs: list[dict], api: str) -> list[dict]:
+        """
+        Create many objects. The api is parsed once and the objects
+        are inserted directly.
+
+        Parameters
+        ----------
+        objs : list[dict]
+            The objects to create.
+        api : str
+            The api to create the objects with.
+
+        Returns
+        -------
+        list[dict]
+            The created objects.
+        """
+        project, dto, _, _, code = self._parse_api(api)
+        with self._get_lock(dto, project):
+            return [self._insert_object(obj, project, dto, code) for obj in objs]
 
     def read_object(self, api: str) -> dict:
         """
@@ -92,12 +108,43 @@ class ClientLocal(Client):
                 if dto == PROJ:
                     obj = self._get_project_spec(obj, name)
             else:
-                obj = self._db[dto][name][uuid]
+                obj = self._db[dto][project][name][uuid]
             return obj
         except KeyError:
             msg = self._format_msg(code, project, dto, name, uuid)
             raise BackendError(msg)
 
+    def list_objects(self, api: str, params: dict = None, page_size: int = DEFAULT_PAGE_SIZE) -> Iterator[dict]:
+        """
+        List objects lazily. Every version of versioned objects is listed.
+
+        Parameters
+        ----------
+        api : str
+            The api to list the objects with.
+        params : dict
+            Filters, see Client.list_objects.
+        page_size : int
+            Unused, objects are already in memory.
+
+        Returns
+        -------
+        Iterator[dict]
+            The objects.
+        """
+        project, dto, _, _, _ = self._parse_api(api)
+        with self._get_lock(dto, project):
+            if project is None:
+                objects = list(self._db[dto].values())
+            else:
+                objects = [
+                    obj
+                    for versions in self._db[dto].get(project, {}).values()
+                    for version, obj in versions.items()
+                    if version != "latest"
+                ]
+        return (obj for obj in objects if self._match_filters(obj, params))
+
     def update_object(self, obj: dict, api: str) -> dict:
         """
         Update an object.
@@ -116,10 +163,15 @@ class ClientLocal(Client):
         """
         project, dto, name, uuid, code = self._parse_api(api)
         try:
-            if project is None:
-                self._db[dto][name] = obj
-            else:
-                self._db[dto][name][uuid] = obj
+            with self._get_lock(dto, project):
+                if project is None:
+                    self._db[dto][name] = obj
+                else:
+                    versions = dict(self._db[dto][project][name])
+                    versions[uuid] = obj
+                    if versions["latest"]["id"] == uuid:
+                        versions["latest"] = obj
+                    self._db[dto][project][name] = versions
         except KeyError:
             msg = self._format_msg(code, project, dto, name, uuid)
             raise BackendError(msg)
@@ -143,18 +195,66 @@ class ClientLocal(Client):
         # We do not handle cascade in local client
         project, dto, name, uuid, code = self._parse_api(api)
         msg = self._format_msg(code, project, dto, name, uuid)
-        if project is None:
-            deleted = self._db[dto].pop(name, msg)
-        if uuid is None:
-            deleted = self._db[dto][project].pop(name, msg)
-        else:
-            deleted = self._db[dto][project][name].pop(uuid, msg)
+        with self._get_lock(dto, project):
+            if project is None:
+                deleted = self._db[dto].pop(name, msg)
+            elif uuid is None:
+                deleted = self._db[dto].get(project, {}).pop(name, msg)
+            else:
+                versions = dict(self._db[dto].get(project, {}).get(name, {}))
+                deleted = versions.pop(uuid, msg)
+                if deleted is not msg:
+                    self._publish_versions(dto, project, name, versions)
         return {"deleted": deleted}
 
     ########################
     # Logic for CRUD
     ########################
 
+    def _insert_object(self, obj: dict, project: str, dto: str, code: int) -> dict:
+        """
+        Insert an object in the local db.
+
+        Parameters
+        ----------
+        obj : dict
+            The object to insert.
+        project : str
+            The project name, None for base APIs.
+        dto : str
+            The DTO name.
+        code : int
+            The error code of the parsed API.
+
+        Returns
+        -------
+        dict
+            The inserted object.
+        """
+        name = None
+        try:
+            if project is None:
+                name = obj["name"] if dto == PROJ else obj["id"]
+                if name in self._db[dto]:
+                    code = 5
+                    raise ValueError
+                self._db[dto][name] = obj
+            else:
+                name = obj["name"]
+                uuid = obj["id"]
+                objects = self._db[dto].setdefault(project, {})
+                versions = dict(objects.get(name, {}))
+                versions[uuid] = obj
+                versions["latest"] = obj  # For versioned objects set also latest version
+                objects[name] = versions
+            return obj
+        except (KeyError, TypeError):
+            msg = self._format_msg(code)
+            raise BackendError(msg)
+        except ValueError:
+            msg = self._format_msg(code, dto=dto, name=name)
+            raise BackendError(msg)
+
     def _parse_api(self, api: str) -> list[str]:
         """
         Parse the given API.
@@ -232,9 +332,98 @@ class ClientLocal(Client):
         if len(parsed) == 4:
             return parsed[0], parsed[1], parsed[2], parsed[3], 4
 
+    @staticmethod
+    def _match_filters(obj: dict, params: dict = None) -> bool:
+        """
+        Check if an object matches list filters.
+
+        Parameters
+        ----------
+        obj : dict
+            The object.
+        params : dict
+            Filters, see Client.list_objects.
+
+        Returns
+        -------
+        bool
+            True if the object matches every filter.
+        """
+        params = params or {}
+        metadata = obj.get("metadata", {})
+        if params.get("name") is not None and obj.get("name") != params["name"]:
+            return False
+        if params.get("kind") is not None and obj.get("kind") != params["kind"]:
+            return False
+        if params.get("labels") and not set(params["labels"]) <= set(metadata.get("labels") or []):
+            return False
+        if params.get("since") is not None:
+            created = metadata.get("created")
+            if created is None:
+                return False
+            since = params["since"]
+            if isinstance(since, str):
+                since = datetime.fromisoformat(since)
+            if datetime.fromisoformat(created).astimezone() < since.astimezone():
+                return False
+        return True
+
+    def _publish_versions(self, dto: str, project: str, name: str, versions: dict) -> None:
+        """
+        Publish the versions of an object after a version was removed,
+        pointing latest to the last created remaining version. The object
+        is removed if no version is left. Must be called holding the
+        (dto, project) lock.
+
+        Parameters
+        ----------
+        dto : str
+            The DTO name.
+        project : str
+            The project name.
+        name : str
+            The object name.
+        versions : dict
+            The new versions of the object.
+
+        Returns
+        -------
+        None
+        """
+        versions.pop("latest", None)
+        if not versions:
+            self._db[dto][project].pop(name)
+            return
+        versions["latest"] = list(versions.values())[-1]
+        self._db[dto][project][name] = versions
+
+    def _get_lock(self, dto: str, project: str) -> RLock:
+        """
+        Get the lock of a (dto, project) stripe.
+
+        Parameters
+        ----------
+        dto : str
+            The DTO name.
+        project : str
+            The project name, None for unversioned objects.
+
+        Returns
+        -------
+        RLock
+            The lock.
+        """
+        key = (dto, project)
+        lock = self._locks.get(key)
+        if lock is None:
+            with self._locks_guard:
+                lock = self._locks.setdefault(key, RLock())
+        return lock
+
     def _get_project_spec(self, obj: dict, name: str) -> dict:
         """
-        Read the project spec.
+        Read the project spec. Only the entities of the project are visited,
+        through the per-project index.
 
         Parameters
         ----------
@@ -248,34 +437,24 @@ class ClientLocal(Client):
         dict
             The project object with the spec.
         """
-        # Deepcopy to avoid modifying the original object
-        project = deepcopy(obj)
-        spec = project.get("spec", {})
+        # Shallow copies to avoid modifying the stored objects
+        project = dict(obj)
+        spec = project["spec"] = dict(project.get("spec", {}))
 
         for entity_type in [ARTF, DTIT, MDLS, FUNC, WKFL]:
-            # Get all objects of the entity type for the project
-            objs = self._db[entity_type]
-
-            # Set empty list
             spec[entity_type] = []
-
-            # Cycle through named objects
-            for _, named_entities in objs.items():
-                # Get latest version
-                for version, entity in named_entities.items():
-                    if version != "latest":
-                        continue
-
-                    # Deepcopy to avoid modifying the original object
-                    copied = deepcopy(entity)
-
-                    # Remove spec if not embedded
-                    if not copied.get("metadata", {}).get("embedded", True):
-                        copied.pop("spec", None)
-
-                    # Add to project spec
-                    if copied["project"] == name:
-                        spec[entity_type].append(copied)
+            with self._get_lock(entity_type, name):
+                objects = list(self._db[entity_type].get(name, {}).values())
+            for versions in objects:
+                entity = versions["latest"]
+
+                # Remove spec if not embedded
+                if not entity.get("metadata", {}).get("embedded", True):
+                    entity = {k: v for k, v in entity.items() if k != "spec"}
+                else:
+                    entity = dict(entity)
+
+                spec[entity_type].append(entity)
 
         return project
 
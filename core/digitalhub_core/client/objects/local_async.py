@@ -0,0 +1,82 @@
+"""
+Async Local Client module.
+"""
+from __future__ import annotations
+
+import typing
+
+from digitalhub_core.client.objects.base import AsyncClient
+
+if typing.TYPE_CHECKING:
+    from digitalhub_core.client.objects.local import ClientLocal
+
+
+class AsyncClientLocal(AsyncClient):
+    """
+    The asynchronous local client. Use the builder to get an instance.
+    It exposes the in-memory store of a ClientLocal through the AsyncClient
+    interface, so async code runs unchanged on local projects.
+    """
+
+    def __init__(self, client: ClientLocal) -> None:
+        """
+        Constructor.
+
+        Parameters
+        ----------
+        client : ClientLocal
+            The local client holding the objects.
+        """
+        self._client = client
+
+    async def create_object(self, obj: dict, api: str) -> dict:
+        """
+        Create an object.
+
+        See Also
+        --------
+        ClientLocal.create_object
+        """
+        return self._client.create_object(obj, api)
+
+    async def read_object(self, api: str) -> dict:
+        """
+        Get an object.
+
+        See Also
+        --------
+        ClientLocal.read_object
+        """
+        return self._client.read_object(api)
+
+    async def update_object(self, obj: dict, api: str) -> dict:
+        """
+        Update an object.
+
+        See Also
+        --------
+        ClientLocal.update_object
+        """
+        return self._client.update_object(obj, api)
+
+    async def delete_object(self, api: str) -> dict:
+        """
+        Delete an object.
+
+        See Also
+        --------
+        ClientLocal.delete_object
+        """
+        return self._client.delete_object(api)
+
+    @staticmethod
+    def is_local() -> bool:
+        """
+        Declare if Client is local.
+
+        Returns
+        -------
+        bool
+            True
+        """
+        return True
@@ -0,0 +1,364 @@
+"""
+SQLite Local Client module.
+"""
+from __future__ import annotations
+
+import json
+import sqlite3
+import threading
+from contextlib import contextmanager
+from pathlib import Path
+from typing import Iterator
+
+from digitalhub_core.client.objects.base import DEFAULT_PAGE_SIZE
+from digitalhub_core.client.objects.local import ClientLocal
+from digitalhub_core.utils.commons import ARTF, DTIT, FUNC, MDLS, PROJ, WKFL
+from digitalhub_core.utils.exceptions import BackendError
+
+# Seconds a writer waits for a lock held by another process
+BUSY_TIMEOUT = 30.0
+
+SCHEMA = """
+CREATE TABLE IF NOT EXISTS objects (
+    seq INTEGER PRIMARY KEY AUTOINCREMENT,
+    dto TEXT NOT NULL,
+    project TEXT NOT NULL,
+    name TEXT NOT NULL,
+    uuid TEXT NOT NULL,
+    body TEXT NOT NULL
+);
+CREATE UNIQUE INDEX IF NOT EXISTS objects_key ON objects (dto, project, name, uuid);
+"""
+
+
+class ClientLocalSQLite(ClientLocal):
+    """
+    Persistent local client. Use the builder to get an instance.
+    Objects are stored in a SQLite database in WAL mode, indexed on
+    (dto, project, name, uuid), and read on demand, so opening the client
+    does not load anything and the database can be shared by concurrent
+    processes. Unversioned objects are stored with empty project and uuid.
+    The latest version of a versioned object is the last one created.
+    """
+
+    def __init__(self, path: str) -> None:
+        """
+        Constructor.
+
+        Parameters
+        ----------
+        path : str
+            Path of the database file.
+        """
+        super().__init__()
+        self.path = Path(path)
+        self.path.parent.mkdir(parents=True, exist_ok=True)
+        self._local = threading.local()
+        self._get_connection().executescript(SCHEMA)
+
+    ########################
+    # CRUD
+    ########################
+
+    def create_object(self, obj: dict, api: str) -> dict:
+        """
+        Create an object.
+
+        Parameters
+        ----------
+        obj : dict
+            The object to create.
+        api : str
+            The api to create the object with.
+
+        Returns
+        -------
+        dict
+            The created object.
+        """
+        return self.create_objects([obj], api)[0]
+
+    def create_objects(self, objs: list[dict], api: str) -> list[dict]:
+        """
+        Create many objects in a single transaction.
+
+        Parameters
+        ----------
+        objs : list[dict]
+            The objects to create.
+        api : str
+            The api to create the objects with.
+
+        Returns
+        -------
+        list[dict]
+            The created objects.
+        """
+        project, dto, _, _, code = self._parse_api(api)
+        name = None
+        try:
+            with self._transaction() as conn:
+                for obj in objs:
+                    if project is None:
+                        name = obj["name"] if dto == PROJ else obj["id"]
+                        conn.execute(
+                            "INSERT INTO objects (dto, project, name, uuid, body) VALUES (?, '', ?, '', ?)",
+                            (dto, name, json.dumps(obj)),
+                        )
+                    else:
+                        # Re-inserting a version makes it the latest one
+                        conn.execute(
+                            "INSERT OR REPLACE INTO objects (dto, project, name, uuid, body) VALUES (?, ?, ?, ?, ?)",
+                            (dto, project, obj["name"], obj["id"], json.dumps(obj)),
+                        )
+            return objs
+        except (KeyError, TypeError):
+            raise BackendError(self._format_msg(code))
+        except sqlite3.IntegrityError:
+            raise BackendError(self._format_msg(5, dto=dto, name=name))
+
+    def read_object(self, api: str) -> dict:
+        """
+        Get an object.
+
+        Parameters
+        ----------
+        api : str
+            The api to get the object with.
+
+        Returns
+        -------
+        dict
+            The object.
+        """
+        project, dto, name, uuid, code = self._parse_api(api)
+        conn = self._get_connection()
+        if project is None:
+            row = conn.execute(
+                "SELECT body FROM objects WHERE dto = ? AND project = '' AND name = ? AND uuid = ''",
+                (dto, name),
+            ).fetchone()
+        elif uuid == "latest":
+            row = conn.execute(
+                "SELECT body FROM objects WHERE dto = ? AND project = ? AND name = ? ORDER BY seq DESC LIMIT 1",
+                (dto, project, name),
+            ).fetchone()
+        else:
+            row = conn.execute(
+                "SELECT body FROM objects WHERE dto = ? AND project = ? AND name = ? AND uuid = ?",
+                (dto, project, name, uuid or ""),
+            ).fetchone()
+        if row is None:
+            raise BackendError(self._format_msg(code, project, dto, name, uuid))
+        obj = json.loads(row[0])
+        if project is None and dto == PROJ:
+            obj = self._get_project_spec(obj, name)
+        return obj
+
+    def list_objects(self, api: str, params: dict | None = None, page_size: int = DEFAULT_PAGE_SIZE) -> Iterator[dict]:
+        """
+        List objects lazily, reading page_size rows at a time in creation
+        order. The name filter is applied through the index, the others
+        on the decoded objects.
+
+        Parameters
+        ----------
+        api : str
+            The api to list the objects with.
+        params : dict
+            Filters, see Client.list_objects.
+        page_size : int
+            Rows read per page.
+
+        Returns
+        -------
+        Iterator[dict]
+            The objects.
+        """
+        project, dto, _, _, _ = self._parse_api(api)
+        name = (params or {}).get("name")
+        query = "SELECT seq, body FROM objects WHERE dto = ? AND project = ? AND seq > ?"
+        if name is not None:
+            query += " AND name = ?"
+        query += " ORDER BY seq LIMIT ?"
+        last = 0
+        while True:
+            args = (dto, project or "", last, *([name] if name is not None else []), page_size)
+            rows = self._get_connection().execute(query, args).fetchall()
+            if not rows:
+                return
+            for _, body in rows:
+                obj = json.loads(body)
+                if self._match_filters(obj, params):
+                    yield obj
+            last = rows[-1][0]
+
+    def update_object(self, obj: dict, api: str) -> dict:
+        """
+        Update an object.
+
+        Parameters
+        ----------
+        obj : dict
+            The object to update.
+        api : str
+            The api to update the object with.
+
+        Returns
+        -------
+        dict
+            The updated object.
+        """
+        return self.update_objects([obj], [api])[0]
+
+    def update_objects(self, objs: list[dict], apis: list[str]) -> list[dict]:
+        """
+        Update many objects in a single transaction.
+
+        Parameters
+        ----------
+        objs : list[dict]
+            The objects to update.
+        apis : list[str]
+            The apis to update the objects with.
+
+        Returns
+        -------
+        list[dict]
+            The updated objects.
+        """
+        with self._transaction() as conn:
+            for obj, api in zip(objs, apis):
+                project, dto, name, uuid, code = self._parse_api(api)
+                if project is not None:
+                    exists = conn.execute(
+                        "SELECT 1 FROM objects WHERE dto = ? AND project = ? AND name = ? LIMIT 1",
+                        (dto, project, name),
+                    ).fetchone()
+                    if exists is None:
+                        raise BackendError(self._format_msg(code, project, dto, name, uuid))
+                # Updating a version in place keeps its position in the version history
+                conn.execute(
+                    "INSERT INTO objects (dto, project, name, uuid, body) VALUES (?, ?, ?, ?, ?) "
+                    "ON CONFLICT (dto, project, name, uuid) DO UPDATE SET body = excluded.body",
+                    (dto, project or "", name, uuid or "", json.dumps(obj)),
+                )
+        return objs
+
+    def delete_object(self, api: str) -> dict:
+        """
+        Delete an object.
+
+        Parameters
+        ----------
+        api : str
+            The api to delete the object with.
+
+        Returns
+        -------
+        dict
+            A generic dictionary.
+        """
+        # We do not handle cascade in local client
+        project, dto, name, uuid, code = self._parse_api(api)
+        msg = self._format_msg(code, project, dto, name, uuid)
+        with self._transaction() as conn:
+            if project is None:
+                query = "dto = ? AND project = '' AND name = ? AND uuid = ''"
+                params: tuple = (dto, name)
+            elif uuid is None:
+                query = "dto = ? AND project = ? AND name = ?"
+                params = (dto, project, name)
+            else:
+                query = "dto = ? AND project = ? AND name = ? AND uuid = ?"
+                params = (dto, project, name, uuid)
+            rows = conn.execute(f"SELECT uuid, body FROM objects WHERE {query} ORDER BY seq", params).fetchall()
+            conn.execute(f"DELETE FROM objects WHERE {query}", params)
+        if not rows:
+            return {"deleted": msg}
+        if project is None or uuid is not None:
+            return {"deleted": json.loads(rows[0][1])}
+        versions = {row[0]: json.loads(row[1]) for row in rows}
+        versions["latest"] = json.loads(rows[-1][1])
+        return {"deleted": versions}
+
+    ########################
+    # Logic for CRUD
+    ########################
+
+    def _get_project_spec(self, obj: dict, name: str) -> dict:
+        """
+        Read the project spec. The latest version of every entity of the
+        project is read through the (dto, project, name) index.
+
+        Parameters
+        ----------
+        obj : dict
+            The project object.
+        name : str
+            The project name.
+
+        Returns
+        -------
+        dict
+            The project object with the spec.
+        """
+        spec = obj["spec"] = obj.get("spec", {})
+        conn = self._get_connection()
+        for entity_type in [ARTF, DTIT, MDLS, FUNC, WKFL]:
+            rows = conn.execute(
+                "SELECT body FROM objects WHERE seq IN "
+                "(SELECT MAX(seq) FROM objects WHERE dto = ? AND project = ? GROUP BY name) ORDER BY seq",
+                (entity_type, name),
+            ).fetchall()
+            spec[entity_type] = []
+            for row in rows:
+                entity = json.loads(row[0])
+
+                # Remove spec if not embedded
+                if not entity.get("metadata", {}).get("embedded", True):
+                    entity.pop("spec", None)
+
+                spec[entity_type].append(entity)
+        return obj
+
+    ########################
+    # Connection
+    ########################
+
+    def _get_connection(self) -> sqlite3.Connection:
+        """
+        Get the connection of the current thread, opening it on first use.
+
+        Returns
+        -------
+        sqlite3.Connection
+            The connection.
+        """
+        conn = getattr(self._local, "conn", None)
+        if conn is None:
+            conn = sqlite3.connect(str(self.path), timeout=BUSY_TIMEOUT, isolation_level=None)
+            conn.execute("PRAGMA journal_mode=WAL")
+            conn.execute("PRAGMA synchronous=NORMAL")
+            self._local.conn = conn
+        return conn
+
+    @contextmanager
+    def _transaction(self) -> Iterator[sqlite3.Connection]:
+        """
+        Run statements in a write transaction, committed on success and
+        rolled back on error.
+
+        Yields
+        ------
+        sqlite3.Connection
+            The connection.
+        """
+        conn = self._get_connection()
+        conn.execute("BEGIN IMMEDIATE")
+        try:
+            yield conn
+        except BaseException:
+            conn.execute("ROLLBACK")
+            raise
+        conn.execute("COMMIT")
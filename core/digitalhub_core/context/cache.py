@@ -0,0 +1,199 @@
+"""
+Context object cache module.
+"""
+from __future__ import annotations
+
+import os
+import time
+from collections import OrderedDict
+from copy import deepcopy
+from threading import Lock
+
+from digitalhub_core.utils.api import API_BASE, API_CONTEXT
+from digitalhub_core.utils.commons import ARTF, DTIT, FUNC, MDLS, PROJ, WKFL
+
+# Entities whose versions never change once created
+VERSIONED_ENTITIES = [ARTF, DTIT, FUNC, MDLS, WKFL]
+
+# Defaults
+DEFAULT_CACHE_SIZE = 1000
+DEFAULT_CACHE_TTL = 0.0
+
+
+class ObjectCache:
+    """
+    Read-through cache of backend objects keyed by API path.
+    Specific versions of versioned entities (artifacts, dataitems,
+    functions, models, workflows read by uuid) are immutable and served
+    from the cache as long as they are not evicted. Every other object
+    ('latest' versions, projects, runs, tasks, ...) is served for ttl
+    seconds, then revalidated with its ETag when the backend provides one.
+    """
+
+    def __init__(self, max_size: int = DEFAULT_CACHE_SIZE, ttl: float = DEFAULT_CACHE_TTL) -> None:
+        """
+        Constructor.
+
+        Parameters
+        ----------
+        max_size : int
+            Maximum number of cached objects. 0 disables the cache.
+        ttl : float
+            Seconds for which mutable objects are served without revalidation.
+        """
+        self.max_size = max_size
+        self.ttl = ttl
+        self._entries: OrderedDict[str, tuple[dict, str | None, float]] = OrderedDict()
+        self._lock = Lock()
+
+    def get(self, api: str) -> tuple[dict | None, str | None, bool]:
+        """
+        Get a cached object.
+
+        Parameters
+        ----------
+        api : str
+            The API path.
+
+        Returns
+        -------
+        tuple[dict | None, str | None, bool]
+            A copy of the object (None if not cached), its ETag and whether
+            it can be served without asking the backend.
+        """
+        with self._lock:
+            entry = self._entries.get(api)
+            if entry is None:
+                return None, None, False
+            self._entries.move_to_end(api)
+        obj, etag, fetched_at = entry
+        fresh = self._is_immutable(api) or time.monotonic() - fetched_at < self.ttl
+        return deepcopy(obj), etag, fresh
+
+    def put(self, api: str, obj: dict, etag: str | None = None) -> None:
+        """
+        Cache an object.
+
+        Parameters
+        ----------
+        api : str
+            The API path.
+        obj : dict
+            The object.
+        etag : str
+            The object ETag.
+
+        Returns
+        -------
+        None
+        """
+        if self.max_size <= 0:
+            return
+        with self._lock:
+            self._entries[api] = (deepcopy(obj), etag, time.monotonic())
+            self._entries.move_to_end(api)
+            while len(self._entries) > self.max_size:
+                self._entries.popitem(last=False)
+
+    def touch(self, api: str) -> None:
+        """
+        Mark a cached object as just revalidated.
+
+        Parameters
+        ----------
+        api : str
+            The API path.
+
+        Returns
+        -------
+        None
+        """
+        with self._lock:
+            entry = self._entries.get(api)
+            if entry is not None:
+                self._entries[api] = (entry[0], entry[1], time.monotonic())
+
+    def invalidate(self, api: str, obj: dict | None = None) -> None:
+        """
+        Invalidate the objects affected by a write on an API path: the
+        object itself, its sub-resources, the other versions of the same
+        entity (the 'latest' one may change) and the owning project, whose
+        spec embeds its entities.
+
+        Parameters
+        ----------
+        api : str
+            The API path of the write.
+        obj : dict
+            The written object, if any.
+
+        Returns
+        -------
+        None
+        """
+        path = api.split("?")[0].rstrip("/")
+        prefixes = [path]
+        if path.startswith(f"{API_CONTEXT}/"):
+            parts = path[len(API_CONTEXT) + 1 :].split("/")
+            project = parts[0]
+            if len(parts) == 2 and obj is not None and "name" in obj:
+                prefixes.append(f"{path}/{obj['name']}")
+            elif len(parts) >= 3:
+                prefixes.append("/".join([API_CONTEXT, *parts[:3]]))
+            prefixes.append(f"{API_BASE}/{PROJ}/{project}")
+        elif obj is not None and obj.get("project") is not None:
+            prefixes.append(f"{API_BASE}/{PROJ}/{obj['project']}")
+        with self._lock:
+            for key in list(self._entries):
+                if any(key == p or key.startswith(f"{p}/") for p in prefixes):
+                    del self._entries[key]
+
+    def clear(self) -> None:
+        """
+        Remove every cached object.
+
+        Returns
+        -------
+        None
+        """
+        with self._lock:
+            self._entries.clear()
+
+    @staticmethod
+    def _is_immutable(api: str) -> bool:
+        """
+        Check if an API path addresses a specific version of a versioned entity,
+        i.e. {API_CONTEXT}/<project>/<entity>/<name>/<uuid>.
+
+        Parameters
+        ----------
+        api : str
+            The API path.
+
+        Returns
+        -------
+        bool
+            True if the object never changes.
+        """
+        if not api.startswith(f"{API_CONTEXT}/"):
+            return False
+        parts = api[len(API_CONTEXT) + 1 :].split("/")
+        return len(parts) == 4 and parts[1] in VERSIONED_ENTITIES and parts[3] != "latest"
+
+
+def build_object_cache() -> ObjectCache:
+    """
+    Build an object cache configured from the environment.
+    DIGITALHUB_CORE_CACHE_SIZE sets the maximum number of cached objects
+    (0 disables the cache) and DIGITALHUB_CORE_CACHE_TTL the seconds for
+    which mutable objects are served without revalidation.
+
+    Returns
+    -------
+    ObjectCache
+        The object cache.
+    """
+    return ObjectCache(
+        max_size=int(os.getenv("DIGITALHUB_CORE_CACHE_SIZE", DEFAULT_CACHE_SIZE)),
+        ttl=float(os.getenv("DIGITALHUB_CORE_CACHE_TTL", DEFAULT_CACHE_TTL)),
+    )
@@ -5,14 +5,24 @@ from __future__ import annotations
 
 import typing
 
+from digitalhub_core.client.builder import get_async_client
+from digitalhub_core.client.objects.base import DEFAULT_PAGE_SIZE
+from digitalhub_core.context.cache import build_object_cache
+
 if typing.TYPE_CHECKING:
+    from typing import Iterator
+
+    from digitalhub_core.client.objects.base import AsyncClient
     from digitalhub_core.entities.projects.entity import Project
 
 
 class Context:
     """
     The context for a project. It contains the project name and the client.
-    It exposes CRUD operations for the entities.
+    It exposes CRUD operations for the entities, both synchronous and
+    asynchronous (the *_async methods).
+    Reads of remote contexts go through a read-through object cache, see
+    ObjectCache. Writes made through the context invalidate it.
     The context is created by the context builder.
     """
 
@@ -28,6 +38,8 @@ class Context:
         self.name = project.name
         self.client = project._client
         self.local = project._client.is_local()
+        self._async_client: AsyncClient | None = None
+        self._cache = build_object_cache() if not self.local else None
 
     def create_object(self, obj: dict, api: str) -> dict:
         """
@@ -45,7 +57,9 @@ class Context:
         dict
             The created object.
         """
-        return self.client.create_object(obj, api)
+        resp = self.client.create_object(obj, api)
+        self._invalidate(api, obj)
+        return resp
 
     def read_object(self, api: str) -> dict:
         """
@@ -61,7 +75,37 @@ class Context:
         dict
             The read object.
         """
-        return self.client.read_object(api)
+        if self._cache is None:
+            return self.client.read_object(api)
+        cached, etag, fresh = self._cache.get(api)
+        if cached is not None and fresh:
+            return cached
+        obj, etag = self.client.read_object_conditional(api, etag)
+        if obj is None:
+            self._cache.touch(api)
+            return cached
+        self._cache.put(api, obj, etag)
+        return obj
+
+    def list_objects(self, api: str, params: dict | None = None, page_size: int = DEFAULT_PAGE_SIZE) -> Iterator[dict]:
+        """
+        List objects lazily. Listed objects are not cached.
+
+        Parameters
+        ----------
+        api : str
+            The api to list the objects with.
+        params : dict
+            Filters.
+        page_size : int
+            Objects fetched per page.
+
+        Returns
+        -------
+        Iterator[dict]
+            The objects.
+        """
+        return self.client.list_objects(api, params, page_size)
 
     def update_object(self, obj: dict, api: str) -> dict:
         """
@@ -79,7 +123,9 @@ class Context:
         dict
             The updated object.
         """
-        return self.client.update_object(obj, api)
+        resp = self.client.update_object(obj, api)
+        self._invalidate(api, obj)
+        return resp
 
     def delete_object(self, api: str) -> dict:
         """
@@ -95,4 +141,137 @@ class Context:
         dict
             The deleted object.
         """
-        return self.client.delete_object(api)
+        resp = self.client.delete_object(api)
+        self._invalidate(api)
+        return resp
+
+    def create_objects(self, objs: list[dict], api: str) -> list[dict]:
+        """
+        Create many objects.
+
+        Parameters
+        ----------
+        objs : list[dict]
+            The objects to create.
+        api : str
+            The api to create the objects with.
+
+        Returns
+        -------
+        list[dict]
+            The created objects.
+        """
+        resp = self.client.create_objects(objs, api)
+        for obj in objs:
+            self._invalidate(api, obj)
+        return resp
+
+    def update_objects(self, objs: list[dict], apis: list[str]) -> list[dict]:
+        """
+        Update many objects.
+
+        Parameters
+        ----------
+        objs : list[dict]
+            The objects to update.
+        apis : list[str]
+            The apis to update the objects with.
+
+        Returns
+        -------
+        list[dict]
+            The updated objects.
+        """
+        resp = self.client.update_objects(objs, apis)
+        for obj, api in zip(objs, apis):
+            self._invalidate(api, obj)
+        return resp
+
+    def _invalidate(self, api: str, obj: dict | None = None) -> None:
+        """
+        Invalidate the cached objects affected by a write.
+
+        Parameters
+        ----------
+        api : str
+            The api of the write.
+        obj : dict
+            The written object, if any.
+
+        Returns
+        -------
+        None
+        """
+        if self._cache is not None:
+            self._cache.invalidate(api, obj)
+
+    ############################
+    # Async CRUD
+    ############################
+
+    @property
+    def async_client(self) -> AsyncClient:
+        """
+        Asynchronous client of the context, created on first use.
+
+        Returns
+        -------
+        AsyncClient
+            The asynchronous client.
+        """
+        if self._async_client is None:
+            self._async_client = get_async_client(self.local)
+        return self._async_client
+
+    async def create_object_async(self, obj: dict, api: str) -> dict:
+        """
+        Create an object asynchronously.
+
+        See Also
+        --------
+        create_object
+        """
+        resp = await self.async_client.create_object(obj, api)
+        self._invalidate(api, obj)
+        return resp
+
+    async def read_object_async(self, api: str) -> dict:
+        """
+        Get an object asynchronously.
+
+        See Also
+        --------
+        read_object
+        """
+        if self._cache is None:
+            return await self.async_client.read_object(api)
+        cached, _, fresh = self._cache.get(api)
+        if cached is not None and fresh:
+            return cached
+        obj = await self.async_client.read_object(api)
+        self._cache.put(api, obj)
+        return obj
+
+    async def update_object_async(self, obj: dict, api: str) -> dict:
+        """
+        Update an object asynchronously.
+
+        See Also
+        --------
+        update_object
+        """
+        resp = await self.async_client.update_object(obj, api)
+        self._invalidate(api, obj)
+        return resp
+
+    async def delete_object_async(self, api: str) -> dict:
+        """
+        Delete an object asynchronously.
+
+        See Also
+        --------
+        delete_object
+        """
+        resp = await self.async_client.delete_object(api)
+        self._invalidate(api)
+        return resp
@@ -5,14 +5,17 @@ from __future__ import annotations
 
 import typing
 
+from digitalhub_core.client.objects.base import DEFAULT_PAGE_SIZE
 from digitalhub_core.context.builder import get_context
 from digitalhub_core.entities.artifacts.entity import artifact_from_dict, artifact_from_parameters
-from digitalhub_core.utils.api import api_ctx_delete, api_ctx_read, api_ctx_update
+from digitalhub_core.utils.api import api_ctx_create, api_ctx_delete, api_ctx_list, api_ctx_read, api_ctx_update
 from digitalhub_core.utils.commons import ARTF
-from digitalhub_core.utils.generic_utils import parse_entity_key
+from digitalhub_core.utils.generic_utils import get_timestamp, parse_entity_key
 from digitalhub_core.utils.io_utils import read_yaml
 
 if typing.TYPE_CHECKING:
+    from typing import Iterator
+
     from digitalhub_core.entities.artifacts.entity import Artifact
 
 
@@ -150,6 +153,44 @@ def get_artifact_from_key(key: str) -> Artifact:
     return get_artifact(project, name, uuid)
 
 
+def list_artifacts(
+    project: str,
+    name: str | None = None,
+    kind: str | None = None,
+    labels: list[str] | None = None,
+    since: str | None = None,
+    page_size: int = DEFAULT_PAGE_SIZE,
+) -> Iterator[Artifact]:
+    """
+    List artifacts of a project lazily. Filters are applied by the backend and
+    pages of page_size objects are fetched only while iterating.
+
+    Parameters
+    ----------
+    project : str
+        Name of the project.
+    name : str
+        Only artifacts with this name (i.e. its versions).
+    kind : str
+        Only artifacts of this kind.
+    labels : list[str]
+        Only artifacts with all these labels.
+    since : str
+        Only artifacts created at or after this ISO timestamp.
+    page_size : int
+        Objects fetched per page.
+
+    Returns
+    -------
+    Iterator[Artifact]
+        Object instances.
+    """
+    api = api_ctx_list(project, ARTF)
+    params = {"name": name, "kind": kind, "labels": labels, "since": since}
+    for obj in get_context(project).list_objects(api, params, page_size):
+        yield artifact_from_dict(obj)
+
+
 def import_artifact(file: str) -> Artifact:
     """
     Import an Artifact object from a file using the specified file path.
@@ -204,5 +245,156 @@ def update_artifact(artifact: Artifact) -> dict:
     dict
         Response from backend.
     """
+    obj = artifact.to_dict()
+    artifact.metadata.updated = obj["metadata"]["updated"] = get_timestamp()
+    api = api_ctx_update(artifact.project, ARTF, artifact.name, uuid=artifact.id)
+    return get_context(artifact.project).update_object(obj, api)
+
+
+def new_artifacts(project: str, artifacts: list[dict]) -> list[Artifact]:
+    """
+    Create many artifacts in a single batch. Every dictionary holds the
+    parameters of new_artifact() except the project.
+
+    Parameters
+    ----------
+    project : str
+        Name of the project.
+    artifacts : list[dict]
+        Parameters of the artifacts to create.
+
+    Returns
+    -------
+    list[Artifact]
+       Object instances.
+    """
+    objs = [create_artifact(project=project, **kwargs) for kwargs in artifacts]
+    api = api_ctx_create(project, ARTF)
+    get_context(project).create_objects([obj.to_dict() for obj in objs], api)
+    return objs
+
+
+def update_artifacts(artifacts: list[Artifact]) -> list[dict]:
+    """
+    Update many artifacts in a single batch per project.
+
+    Parameters
+    ----------
+    artifacts : list[Artifact]
+        The artifacts to update.
+
+    Returns
+    -------
+    list[dict]
+        Responses from backend, in the same order.
+    """
+    by_project: dict[str, list[int]] = {}
+    for idx, obj in enumerate(artifacts):
+        by_project.setdefault(obj.project, []).append(idx)
+    responses: list[dict] = [None] * len(artifacts)  # type: ignore
+    for project, idxs in by_project.items():
+        objs = []
+        for i in idxs:
+            obj = artifacts[i].to_dict()
+            artifacts[i].metadata.updated = obj["metadata"]["updated"] = get_timestamp()
+            objs.append(obj)
+        apis = [api_ctx_update(project, ARTF, artifacts[i].name, uuid=artifacts[i].id) for i in idxs]
+        for i, resp in zip(idxs, get_context(project).update_objects(objs, apis)):
+            responses[i] = resp
+    return responses
+
+
+####################
+# Async operations
+####################
+
+
+async def new_artifact_async(project: str, name: str, kind: str, **kwargs) -> Artifact:
+    """
+    Create an instance of the Artifact class and save it into the backend asynchronously.
+
+    Parameters
+    ----------
+    project : str
+        Name of the project.
+    name : str
+        Identifier of the artifact.
+    kind : str
+        The type of the artifact.
+    **kwargs
+        Keyword arguments, as in new_artifact().
+
+    Returns
+    -------
+    Artifact
+       Object instance.
+    """
+    obj = create_artifact(project=project, name=name, kind=kind, **kwargs)
+    api = api_ctx_create(project, ARTF)
+    await get_context(project).create_object_async(obj.to_dict(), api)
+    return obj
+
+
+async def get_artifact_async(project: str, name: str, uuid: str | None = None) -> Artifact:
+    """
+    Get object from backend asynchronously.
+
+    Parameters
+    ----------
+    project : str
+        Name of the project.
+    name : str
+        The name of the artifact.
+    uuid : str
+        UUID.
+
+    Returns
+    -------
+    Artifact
+        Object instance.
+    """
+    api = api_ctx_read(project, ARTF, name, uuid=uuid)
+    obj = await get_context(project).read_object_async(api)
+    return artifact_from_dict(obj)
+
+
+async def delete_artifact_async(project: str, name: str, uuid: str | None = None) -> dict:
+    """
+    Delete artifact from the backend asynchronously. If the uuid is not specified, delete all versions.
+
+    Parameters
+    ----------
+    project : str
+        Name of the project.
+    name : str
+        The name of the artifact.
+    uuid : str
+        UUID.
+
+    Returns
+    -------
+    dict
+        Response from backend.
+    """
+    api = api_ctx_delete(project, ARTF, name, uuid=uuid)
+    return await get_context(project).delete_object_async(api)
+
+
+async def update_artifact_async(artifact: Artifact) -> dict:
+    """
+    Update a artifact asynchronously.
+
+    Parameters
+    ----------
+    artifact : Artifact
+        The artifact to update.
+
+    Returns
+    -------
+    dict
+        Response from backend.
+    """
+    obj = artifact.to_dict()
+    artifact.metadata.updated = obj["metadata"]["updated"] = get_timestamp()
     api = api_ctx_update(artifact.project, ARTF, artifact.name, uuid=artifact.id)
-    return get_context(artifact.project).update_object(artifact.to_dict(), api)
+    return await get_context(artifact.project).update_object_async(obj, api)
@@ -144,8 +144,10 @@ class Artifact(Entity):
     def as_file(self, target: str | None = None) -> str:
         """
         Get artifact as file. In the case of a local store, the store returns the current
-        path of the artifact. In the case of a remote store, the artifact is downloaded in
-        a temporary directory.
+        path of the artifact. In the case of a remote store, the artifact is downloaded into a
+        temporary folder. If the artifact cache is enabled (DIGITALHUB_CACHE_MAX_SIZE is set)
+        and the store can tell the artifact version, it is downloaded only if not cached yet
+        and hard linked from the cache, so the returned file must not be modified in place.
 
         Parameters
         ----------
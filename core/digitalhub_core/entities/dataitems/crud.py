@@ -5,14 +5,17 @@ from __future__ import annotations
 
 import typing
 
+from digitalhub_core.client.objects.base import DEFAULT_PAGE_SIZE
 from digitalhub_core.context.builder import get_context
 from digitalhub_core.entities.dataitems.entity import dataitem_from_dict, dataitem_from_parameters
-from digitalhub_core.utils.api import api_ctx_delete, api_ctx_read, api_ctx_update
+from digitalhub_core.utils.api import api_ctx_create, api_ctx_delete, api_ctx_list, api_ctx_read, api_ctx_update
 from digitalhub_core.utils.commons import DTIT
-from digitalhub_core.utils.generic_utils import parse_entity_key
+from digitalhub_core.utils.generic_utils import get_timestamp, parse_entity_key
 from digitalhub_core.utils.io_utils import read_yaml
 
 if typing.TYPE_CHECKING:
+    from typing import Iterator
+
     from digitalhub_core.entities.dataitems.entity import Dataitem
 
 
@@ -147,6 +150,44 @@ def get_dataitem_from_key(key: str) -> Dataitem:
     return get_dataitem(project, name, uuid)
 
 
+def list_dataitems(
+    project: str,
+    name: str | None = None,
+    kind: str | None = None,
+    labels: list[str] | None = None,
+    since: str | None = None,
+    page_size: int = DEFAULT_PAGE_SIZE,
+) -> Iterator[Dataitem]:
+    """
+    List dataitems of a project lazily. Filters are applied by the backend and
+    pages of page_size objects are fetched only while iterating.
+
+    Parameters
+    ----------
+    project : str
+        Name of the project.
+    name : str
+        Only dataitems with this name (i.e. its versions).
+    kind : str
+        Only dataitems of this kind.
+    labels : list[str]
+        Only dataitems with all these labels.
+    since : str
+        Only dataitems created at or after this ISO timestamp.
+    page_size : int
+        Objects fetched per page.
+
+    Returns
+    -------
+    Iterator[Dataitem]
+        Object instances.
+    """
+    api = api_ctx_list(project, DTIT)
+    params = {"name": name, "kind": kind, "labels": labels, "since": since}
+    for obj in get_context(project).list_objects(api, params, page_size):
+        yield dataitem_from_dict(obj)
+
+
 def import_dataitem(file: str) -> Dataitem:
     """
     Get object from file.
@@ -201,5 +242,156 @@ def update_dataitem(dataitem: Dataitem) -> dict:
     dict
         Response from backend.
     """
+    obj = dataitem.to_dict()
+    dataitem.metadata.updated = obj["metadata"]["updated"] = get_timestamp()
+    api = api_ctx_update(dataitem.project, DTIT, dataitem.name, uuid=dataitem.id)
+    return get_context(dataitem.project).update_object(obj, api)
+
+
+def new_dataitems(project: str, dataitems: list[dict]) -> list[Dataitem]:
+    """
+    Create many dataitems in a single batch. Every dictionary holds the
+    parameters of new_dataitem() except the project.
+
+    Parameters
+    ----------
+    project : str
+        Name of the project.
+    dataitems : list[dict]
+        Parameters of the dataitems to create.
+
+    Returns
+    -------
+    list[Dataitem]
+       Object instances.
+    """
+    objs = [create_dataitem(project=project, **kwargs) for kwargs in dataitems]
+    api = api_ctx_create(project, DTIT)
+    get_context(project).create_objects([obj.to_dict() for obj in objs], api)
+    return objs
+
+
+def update_dataitems(dataitems: list[Dataitem]) -> list[dict]:
+    """
+    Update many dataitems in a single batch per project.
+
+    Parameters
+    ----------
+    dataitems : list[Dataitem]
+        The dataitems to update.
+
+    Returns
+    -------
+    list[dict]
+        Responses from backend, in the same order.
+    """
+    by_project: dict[str, list[int]] = {}
+    for idx, obj in enumerate(dataitems):
+        by_project.setdefault(obj.project, []).append(idx)
+    responses: list[dict] = [None] * len(dataitems)  # type: ignore
+    for project, idxs in by_project.items():
+        objs = []
+        for i in idxs:
+            obj = dataitems[i].to_dict()
+            dataitems[i].metadata.updated = obj["metadata"]["updated"] = get_timestamp()
+            objs.append(obj)
+        apis = [api_ctx_update(project, DTIT, dataitems[i].name, uuid=dataitems[i].id) for i in idxs]
+        for i, resp in zip(idxs, get_context(project).update_objects(objs, apis)):
+            responses[i] = resp
+    return responses
+
+
+####################
+# Async operations
+####################
+
+
+async def new_dataitem_async(project: str, name: str, kind: str, **kwargs) -> Dataitem:
+    """
+    Create an instance of the Dataitem class and save it into the backend asynchronously.
+
+    Parameters
+    ----------
+    project : str
+        Name of the project.
+    name : str
+        Identifier of the dataitem.
+    kind : str
+        The type of the dataitem.
+    **kwargs
+        Keyword arguments, as in new_dataitem().
+
+    Returns
+    -------
+    Dataitem
+       Object instance.
+    """
+    obj = create_dataitem(project=project, name=name, kind=kind, **kwargs)
+    api = api_ctx_create(project, DTIT)
+    await get_context(project).create_object_async(obj.to_dict(), api)
+    return obj
+
+
+async def get_dataitem_async(project: str, name: str, uuid: str | None = None) -> Dataitem:
+    """
+    Get object from backend asynchronously.
+
+    Parameters
+    ----------
+    project : str
+        Name of the project.
+    name : str
+        The name of the dataitem.
+    uuid : str
+        UUID.
+
+    Returns
+    -------
+    Dataitem
+        Object instance.
+    """
+    api = api_ctx_read(project, DTIT, name, uuid=uuid)
+    obj = await get_context(project).read_object_async(api)
+    return dataitem_from_dict(obj)
+
+
+async def delete_dataitem_async(project: str, name: str, uuid: str | None = None) -> dict:
+    """
+    Delete dataitem from the backend asynchronously. If the uuid is not specified, delete all versions.
+
+    Parameters
+    ----------
+    project : str
+        Name of the project.
+    name : str
+        The name of the dataitem.
+    uuid : str
+        UUID.
+
+    Returns
+    -------
+    dict
+        Response from backend.
+    """
+    api = api_ctx_delete(project, DTIT, name, uuid=uuid)
+    return await get_context(project).delete_object_async(api)
+
+
+async def update_dataitem_async(dataitem: Dataitem) -> dict:
+    """
+    Update a dataitem asynchronously.
+
+    Parameters
+    ----------
+    dataitem : Dataitem
+        The dataitem to update.
+
+    Returns
+    -------
+    dict
+        Response from backend.
+    """
+    obj = dataitem.to_dict()
+    dataitem.metadata.updated = obj["metadata"]["updated"] = get_timestamp()
     api = api_ctx_update(dataitem.project, DTIT, dataitem.name, uuid=dataitem.id)
-    return get_context(dataitem.project).update_object(dataitem.to_dict(), api)
+    return await get_context(dataitem.project).update_object_async(obj, api)
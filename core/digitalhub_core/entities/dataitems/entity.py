@@ -3,9 +3,9 @@ Dataitem module.
 """
 from __future__ import annotations
 
-import shutil
 import typing
 from pathlib import Path
+from typing import Iterator
 
 from digitalhub_core.context.builder import get_context
 from digitalhub_core.entities._base.entity import Entity
@@ -13,6 +13,7 @@ from digitalhub_core.entities._builders.metadata import build_metadata
 from digitalhub_core.entities._builders.spec import build_spec
 from digitalhub_core.entities._builders.status import build_status
 from digitalhub_core.stores.builder import get_default_store, get_store
+from digitalhub_core.stores.objects.base import DEFAULT_BATCH_SIZE
 from digitalhub_core.utils.api import api_ctx_create, api_ctx_update
 from digitalhub_core.utils.commons import DTIT
 from digitalhub_core.utils.exceptions import EntityError
@@ -22,7 +23,9 @@ from digitalhub_core.utils.uri_utils import map_uri_scheme
 
 if typing.TYPE_CHECKING:
     import pandas as pd
+    import pyarrow as pa
     from digitalhub_core.context.context import Context
+    from digitalhub_core.stores.objects.base import Batch
     from digitalhub_core.entities.dataitems.metadata import DataitemMetadata
     from digitalhub_core.entities.dataitems.spec import DataitemSpec
     from digitalhub_core.entities.dataitems.status import DataitemStatus
@@ -127,20 +130,33 @@ class Dataitem(Entity):
     #  Dataitem Methods
     #############################
 
-    def as_df(self, file_format: str | None = None, **kwargs) -> pd.DataFrame:
+    def as_df(
+        self,
+        file_format: str | None = None,
+        columns: list[str] | None = None,
+        filters: list | None = None,
+        **kwargs,
+    ) -> pd.DataFrame:
         """
-        Read dataitem as a pandas DataFrame. If the dataitem is not local, it will be downloaded
-        to a temporary folder and deleted after the method is executed. If no file_format is passed,
+        Read dataitem as a pandas DataFrame. Dataitems on s3 are streamed directly from the bucket,
+        other remote dataitems are downloaded through the store first. If no file_format is passed,
         the function will try to infer it from the dataitem.spec.path attribute.
         The path of the dataitem is specified in the spec attribute, and must be a store aware path.
         If the dataitem is stored on s3 bucket, the path must be s3://<bucket>/<path_to_dataitem>.
         If the dataitem is stored on database (Postgres is the only one supported), the path must
         be sql://postgres/<database>/<schema>/<table/view>.
+        Columns and filters are pushed down to the source when possible: parquet row groups
+        are skipped using their statistics and SQL tables are queried with SELECT ... WHERE.
 
         Parameters
         ----------
         file_format : str
             Format of the file. (Supported csv and parquet).
+        columns : list[str]
+            Columns to read. If None, all columns are read.
+        filters : list
+            Row filters in pyarrow DNF notation, e.g. [("day", "=", "2023-01-01")]
+            or [[("a", ">", 1)], [("b", "in", ["x", "y"])]] for OR conditions.
         **kwargs
             Keyword arguments.
 
@@ -152,28 +168,45 @@ class Dataitem(Entity):
         if self.spec.path is None:
             raise EntityError("Path is not specified.")
 
+        # Check file format and get dataitem as DataFrame
         store = get_store(self.spec.path)
-        tmp_path = False
+        extension = self._get_extension(self.spec.path, file_format)
+        return store.read_df(self.spec.path, extension, columns=columns, filters=filters, **kwargs)
 
-        # Download dataitem if not local
-        if not self._check_local(self.spec.path):
-            path = store.download(self.spec.path)
-            tmp_path = True
-        else:
-            path = self.spec.path
+    def iter_batches(
+        self,
+        batch_size: int = DEFAULT_BATCH_SIZE,
+        columns: list[str] | None = None,
+        as_pandas: bool = False,
+        file_format: str | None = None,
+    ) -> Iterator[Batch]:
+        """
+        Iterate over the dataitem in batches of rows, to process dataitems bigger
+        than memory. Parquet files are read by row groups, CSV files by blocks and
+        SQL tables through a server-side cursor.
 
-        # Check file format and get dataitem as DataFrame
-        extension = self._get_extension(self.spec.path, file_format)
-        df = store.read_df(path, extension, **kwargs)
+        Parameters
+        ----------
+        batch_size : int
+            Maximum number of rows per batch.
+        columns : list[str]
+            Columns to read. If None, all columns are read.
+        as_pandas : bool
+            Whether to yield pandas DataFrames instead of pyarrow RecordBatches.
+        file_format : str
+            Format of the file. (Supported csv and parquet).
 
-        # Delete tmp folder
-        if tmp_path:
-            pth = Path(path)
-            if pth.is_file():
-                pth = pth.parent
-            shutil.rmtree(pth)
+        Yields
+        ------
+        Batch
+            A pyarrow RecordBatch or a pandas DataFrame.
+        """
+        if self.spec.path is None:
+            raise EntityError("Path is not specified.")
 
-        return df
+        store = get_store(self.spec.path)
+        extension = self._get_extension(self.spec.path, file_format)
+        yield from store.iter_batches(self.spec.path, extension, batch_size, columns, as_pandas)
 
     def write_df(self, target_path: str | None = None, df: pd.DataFrame | None = None, **kwargs) -> str:
         """
@@ -204,6 +237,67 @@ class Dataitem(Entity):
             df = self.as_df()
         return store.write_df(df, target_path, **kwargs)
 
+    def as_table(
+        self,
+        file_format: str | None = None,
+        columns: list[str] | None = None,
+        filters: list | None = None,
+    ) -> pa.Table:
+        """
+        Read dataitem as a pyarrow Table, keeping data in Arrow format end to end.
+        The table can be handed to polars (polars.from_arrow) or duckdb without copies.
+        Reading works as in as_df, with the same columns and filters pushdown.
+
+        Parameters
+        ----------
+        file_format : str
+            Format of the file. (Supported csv and parquet).
+        columns : list[str]
+            Columns to read. If None, all columns are read.
+        filters : list
+            Row filters in pyarrow DNF notation.
+
+        Returns
+        -------
+        pa.Table
+            Pyarrow Table.
+        """
+        if self.spec.path is None:
+            raise EntityError("Path is not specified.")
+
+        store = get_store(self.spec.path)
+        extension = self._get_extension(self.spec.path, file_format)
+        return store.read_table(self.spec.path, extension, columns=columns, filters=filters)
+
+    def write_table(self, target_path: str | None = None, table: pa.Table | None = None, **kwargs) -> str:
+        """
+        Write pyarrow Table as parquet.
+        If no target_path is passed, the dataitem will be written into the default store.
+        If no Table is passed, the dataitem will be written into the target_path.
+
+        Parameters
+        ----------
+        target_path : str
+            Path to write the table to
+        table : pa.Table
+            Table to write.
+        **kwargs
+            Keyword arguments.
+
+        Returns
+        -------
+        str
+            Path to the written table.
+        """
+        if target_path is None:
+            target_path = f"{self.project}/dataitems/{self.kind}/{self.name}.parquet"
+            store = get_default_store()
+        else:
+            store = get_store(target_path)
+        if table is None:
+            table = self.as_table()
+        return store.write_table(table, target_path, **kwargs)
+
     #############################
     #  Context
     #############################
@@ -223,23 +317,6 @@ class Dataitem(Entity):
     #  Helper Methods
     #############################
 
-    @staticmethod
-    def _check_local(path: str) -> bool:
-        """
-        Check if path is local.
-
-        Parameters
-        ----------
-        path : str
-            Path to check.
-
-        Returns
-        -------
-        bool
-            True if local, False otherwise.
-        """
-        return map_uri_scheme(path) == "local"
-
     @staticmethod
     def _get_extension(path: str, file_format: str | None = None) -> str:
         """
@@ -3,16 +3,33 @@ Store module.
 """
 from __future__ import annotations
 
+import shutil
+import typing
 from abc import ABCMeta, abstractmethod
+from contextlib import contextmanager
 from pathlib import Path
-from tempfile import mkdtemp
-from typing import Literal
+from tempfile import gettempdir, mkdtemp
+from typing import Iterator, Literal, Union
 
 import pandas as pd
+import pyarrow as pa
+import pyarrow.dataset as ds
+import pyarrow.parquet as pq
+from digitalhub_core.stores.objects.cache import get_artifact_cache
+from digitalhub_core.utils.data_utils import Filters, filter_columns, filter_df
 from digitalhub_core.utils.exceptions import StoreError
 from digitalhub_core.utils.uri_utils import map_uri_scheme
 from pydantic import BaseModel
 
+# Type aliases
+Batch = Union[pa.RecordBatch, pd.DataFrame]
+
+# Default number of rows per batch
+DEFAULT_BATCH_SIZE = 65536
+
+# Prefix of the temporary directories built by stores
+TEMP_PREFIX = "digitalhub-"
+
 
 class Store(metaclass=ABCMeta):
     """
@@ -39,18 +56,37 @@ class Store(metaclass=ABCMeta):
         self.name = name
         self.type = store_type
 
-        # Private attributes
-        self._registry: dict[str, str] = {}
-
     ############################
     # IO methods
     ############################
 
-    @abstractmethod
     def download(self, src: str, dst: str | None = None) -> str:
         """
-        Method to download artifact from storage.
+        Download an artifact from storage. If the destination is provided, the artifact
+        is fetched there. Otherwise, if the artifact cache is enabled and the store can
+        tell the artifact version, it is fetched only if it is not cached yet and the
+        cached files are hard linked into a temporary folder owned by the caller. Linked
+        files share their content with the cache and must not be modified in place.
+
+        Parameters
+        ----------
+        src : str
+            The source location of the artifact.
+        dst : str
+            The destination of the artifact.
+
+        Returns
+        -------
+        str
+            The path of the downloaded artifact.
         """
+        if dst is not None:
+            return self.fetch_artifact(src, dst)
+        cache = get_artifact_cache()
+        version = self._get_version(src) if cache is not None else None
+        if version is None:
+            return self.fetch_artifact(src)
+        return cache.get(src, version, lambda pth: self.fetch_artifact(src, pth), mkdtemp(prefix=TEMP_PREFIX))
 
     @abstractmethod
     def fetch_artifact(self, src: str, dst: str | None = None) -> str:
@@ -76,10 +112,60 @@ class Store(metaclass=ABCMeta):
         Write pandas DataFrame as parquet or csv.
         """
 
+    @abstractmethod
+    def write_table(self, table: pa.Table, dst: str | None = None, **kwargs) -> str:
+        """
+        Write pyarrow Table as parquet.
+        """
+
+    def read_df(
+        self,
+        path: str,
+        extension: str,
+        columns: list[str] | None = None,
+        filters: Filters = None,
+        **kwargs,
+    ) -> pd.DataFrame:
+        """
+        Read DataFrame from path. Remote paths are downloaded first, through the
+        artifact cache if enabled or into a temporary folder deleted after reading.
+
+        Parameters
+        ----------
+        path : str
+            Path to read DataFrame from.
+        extension : str
+            Extension of the file.
+        columns : list[str]
+            Columns to read. If None, all columns are read.
+        filters : Filters
+            Row filters in pyarrow DNF notation, e.g. [("year", "=", 2023)].
+        **kwargs
+            Keyword arguments.
+
+        Returns
+        -------
+        pd.DataFrame
+            Pandas DataFrame.
+        """
+        if map_uri_scheme(path) == "local":
+            return self._read_df(path, extension, columns, filters, **kwargs)
+
+        with self._open_local(path) as local_path:
+            return self._read_df(local_path, extension, columns, filters, **kwargs)
+
     @staticmethod
-    def read_df(path: str, extension: str, **kwargs) -> pd.DataFrame:
+    def _read_df(
+        path: str,
+        extension: str,
+        columns: list[str] | None = None,
+        filters: Filters = None,
+        **kwargs,
+    ) -> pd.DataFrame:
         """
-        Read DataFrame from path.
+        Read DataFrame from a path readable by pandas. Parquet files are read
+        through pyarrow, which skips row groups excluded by the filters using
+        their statistics. CSV files are filtered after parsing.
 
         Parameters
         ----------
@@ -87,6 +173,10 @@ class Store(metaclass=ABCMeta):
             Path to read DataFrame from.
         extension : str
             Extension of the file.
+        columns : list[str]
+            Columns to read.
+        filters : Filters
+            Row filters.
         **kwargs
             Keyword arguments.
 
@@ -101,15 +191,225 @@ class Store(metaclass=ABCMeta):
             If format is not supported.
         """
         if extension == "csv":
-            return pd.read_csv(path, **kwargs)
+            # Filter columns must be read even if not selected
+            usecols = columns
+            if columns is not None and filters:
+                usecols = list(dict.fromkeys([*columns, *filter_columns(filters)]))
+            df = filter_df(pd.read_csv(path, usecols=usecols, **kwargs), filters)
+            return df if columns is None else df[columns]
         if extension == "parquet":
-            return pd.read_parquet(path, **kwargs)
+            if filters:
+                kwargs["filters"] = filters
+            return pd.read_parquet(path, columns=columns, engine="pyarrow", **kwargs)
         raise ValueError(f"Format {extension} not supported.")
 
+    def read_table(
+        self,
+        path: str,
+        extension: str,
+        columns: list[str] | None = None,
+        filters: Filters = None,
+    ) -> pa.Table:
+        """
+        Read a pyarrow Table from path, without any pandas conversion.
+        Remote paths are downloaded first, as in read_df.
+
+        Parameters
+        ----------
+        path : str
+            Path to read Table from.
+        extension : str
+            Extension of the file.
+        columns : list[str]
+            Columns to read. If None, all columns are read.
+        filters : Filters
+            Row filters in pyarrow DNF notation.
+
+        Returns
+        -------
+        pa.Table
+            Pyarrow Table.
+        """
+        if map_uri_scheme(path) == "local":
+            return self._read_table(path, extension, columns, filters)
+
+        with self._open_local(path) as local_path:
+            return self._read_table(local_path, extension, columns, filters)
+
+    @staticmethod
+    def _read_table(
+        path: str,
+        extension: str,
+        columns: list[str] | None = None,
+        filters: Filters = None,
+        filesystem: typing.Any = None,
+    ) -> pa.Table:
+        """
+        Read a pyarrow Table through a pyarrow dataset scanner. Parquet row groups
+        excluded by the filters are skipped using their statistics.
+
+        Parameters
+        ----------
+        path : str
+            Path to read Table from.
+        extension : str
+            Extension of the file.
+        columns : list[str]
+            Columns to read.
+        filters : Filters
+            Row filters.
+        filesystem : typing.Any
+            Filesystem (pyarrow or fsspec) to read the path from.
+
+        Returns
+        -------
+        pa.Table
+            Pyarrow Table.
+
+        Raises
+        ------
+        ValueError
+            If format is not supported.
+        """
+        if extension not in ("csv", "parquet"):
+            raise ValueError(f"Format {extension} not supported.")
+        expression = pq.filters_to_expression(filters) if filters else None
+        dataset = ds.dataset(path, format=extension, filesystem=filesystem)
+        return dataset.to_table(columns=columns, filter=expression)
+
+    def iter_batches(
+        self,
+        path: str,
+        extension: str,
+        batch_size: int = DEFAULT_BATCH_SIZE,
+        columns: list[str] | None = None,
+        as_pandas: bool = False,
+    ) -> Iterator[Batch]:
+        """
+        Iterate over a file in batches of rows, without loading it in memory.
+        Remote paths are downloaded first, as in read_df.
+
+        Parameters
+        ----------
+        path : str
+            Path to read batches from.
+        extension : str
+            Extension of the file.
+        batch_size : int
+            Maximum number of rows per batch.
+        columns : list[str]
+            Columns to read. If None, all columns are read.
+        as_pandas : bool
+            Whether to yield pandas DataFrames instead of pyarrow RecordBatches.
+
+        Yields
+        ------
+        Batch
+            A RecordBatch or a DataFrame.
+        """
+        if map_uri_scheme(path) == "local":
+            yield from self._iter_batches(path, extension, batch_size, columns, as_pandas)
+            return
+
+        with self._open_local(path) as local_path:
+            yield from self._iter_batches(local_path, extension, batch_size, columns, as_pandas)
+
+    @staticmethod
+    def _iter_batches(
+        path: str,
+        extension: str,
+        batch_size: int,
+        columns: list[str] | None = None,
+        as_pandas: bool = False,
+        filesystem: typing.Any = None,
+    ) -> Iterator[Batch]:
+        """
+        Iterate over a file with a streaming pyarrow dataset scanner. Parquet files
+        are read one row group at a time, CSV files one block at a time.
+
+        Parameters
+        ----------
+        path : str
+            Path to read batches from.
+        extension : str
+            Extension of the file.
+        batch_size : int
+            Maximum number of rows per batch.
+        columns : list[str]
+            Columns to read.
+        as_pandas : bool
+            Whether to yield pandas DataFrames.
+        filesystem : typing.Any
+            Filesystem (pyarrow or fsspec) to read the path from.
+
+        Yields
+        ------
+        Batch
+            A RecordBatch or a DataFrame.
+
+        Raises
+        ------
+        ValueError
+            If format is not supported.
+        """
+        if extension not in ("csv", "parquet"):
+            raise ValueError(f"Format {extension} not supported.")
+        dataset = ds.dataset(path, format=extension, filesystem=filesystem)
+        for batch in dataset.to_batches(columns=columns, batch_size=batch_size):
+            yield batch.to_pandas() if as_pandas else batch
+
     ############################
     # Helpers methods
     ############################
 
+    @contextmanager
+    def _open_local(self, src: str) -> Iterator[str]:
+        """
+        Get a local copy of a remote artifact for the duration of the context.
+        The copy is served from the artifact cache, pinned while in use, when the
+        cache is enabled and the store can tell the artifact version. Otherwise it
+        is fetched into a temporary folder, removed on exit.
+
+        Parameters
+        ----------
+        src : str
+            The source location of the artifact.
+
+        Yields
+        ------
+        str
+            The local path of the artifact.
+        """
+        cache = get_artifact_cache()
+        version = self._get_version(src) if cache is not None else None
+        if version is None:
+            tmp_path = self.fetch_artifact(src)
+            try:
+                yield tmp_path
+            finally:
+                self._remove_temp(tmp_path)
+            return
+        with cache.open(src, version, lambda pth: self.fetch_artifact(src, pth)) as local_path:
+            yield local_path
+
+    def _get_version(self, src: str) -> str | None:
+        """
+        Get the version of an artifact (ETag, last modification, ...) with a cheap
+        request, used to key cached copies. Stores that cannot tell the version
+        return None and their artifacts are never cached.
+
+        Parameters
+        ----------
+        src : str
+            The source location of the artifact.
+
+        Returns
+        -------
+        str | None
+            The artifact version.
+        """
+        return None
+
     def _check_local_dst(self, dst: str) -> None:
         """
         Check if the local destination directory exists. Create in case it does not.
@@ -165,10 +465,30 @@ class Store(metaclass=ABCMeta):
         str
             Temporary path.
         """
-        tmpdir = mkdtemp()
-        dst = str(Path(tmpdir) / Path(src).name)
-        self._registry[src] = dst
-        return dst
+        tmpdir = mkdtemp(prefix=TEMP_PREFIX)
+        return str(Path(tmpdir) / Path(src).name)
+
+    @staticmethod
+    def _remove_temp(path: str) -> None:
+        """
+        Remove a temporary path built by _build_temp, together with the
+        temporary directory it was created in, whatever the depth of the
+        path (e.g. the data directory of a partitioned export).
+
+        Parameters
+        ----------
+        path : str
+            Temporary path.
+
+        Returns
+        -------
+        None
+        """
+        pth = Path(path).resolve()
+        for parent in pth.parents:
+            if parent.name.startswith(TEMP_PREFIX) and parent.parent == Path(gettempdir()).resolve():
+                shutil.rmtree(parent, ignore_errors=True)
+                return
 
     @staticmethod
     @abstractmethod
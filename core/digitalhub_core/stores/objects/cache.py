@@ -0,0 +1,484 @@
+"""
+Artifact cache module.
+"""
+from __future__ import annotations
+
+import hashlib
+import json
+import os
+import shutil
+import time
+from contextlib import contextmanager
+from pathlib import Path
+from tempfile import mkdtemp
+from threading import Lock
+from typing import IO, Callable, Iterator
+from urllib.parse import urlparse
+
+try:
+    import fcntl
+except ImportError:  # pragma: no cover
+    fcntl = None
+
+# Entry layout
+META_FILE = "meta.json"
+DATA_DIR = "data"
+
+# Disabled unless DIGITALHUB_CACHE_MAX_SIZE is set
+DEFAULT_MAX_SIZE = 0
+
+
+class ArtifactCache:
+    """
+    On-disk artifact cache shared by all the stores. Entries are keyed by the
+    artifact URI plus its version (e.g. the S3 ETag), so a cached copy never
+    goes stale: artifacts whose version is unknown must not be cached. When
+    the total size exceeds max_size, the least recently used entries are
+    evicted. The cache directory can be shared by concurrent processes: every
+    entry is published with an atomic rename and guarded by a file lock,
+    held shared by its readers and exclusively to fetch or evict it, so
+    entries in use are never evicted. Lock files are removed together with
+    their entries.
+    """
+
+    def __init__(self, root: str | Path, max_size: int) -> None:
+        """
+        Constructor.
+
+        Parameters
+        ----------
+        root : str | Path
+            Cache directory.
+        max_size : int
+            Maximum size of the cache in bytes.
+        """
+        self.root = Path(root)
+        self.max_size = max_size
+        for sub in ("entries", "locks", "tmp"):
+            (self.root / sub).mkdir(parents=True, exist_ok=True)
+
+    def get(self, uri: str, version: str, fetch: Callable[[str], str], dst_dir: str) -> str:
+        """
+        Get a copy of an artifact owned by the caller, fetching it if it is
+        not cached. Files are hard linked from the cache entry when possible
+        and copied otherwise, so the entry is pinned only while linking and
+        the copy can be moved or deleted freely. Linked files share their
+        content with the cache and must not be modified in place.
+
+        Parameters
+        ----------
+        uri : str
+            Artifact URI.
+        version : str
+            Artifact version (ETag, last modified, ...).
+        fetch : Callable[[str], str]
+            Function that fetches the artifact into the given destination
+            and returns the path of the fetched artifact.
+        dst_dir : str
+            Directory the copy is created in.
+
+        Returns
+        -------
+        str
+            Local path of the copy.
+        """
+        with self.open(uri, version, fetch) as path:
+            src = Path(path)
+            dst = Path(dst_dir) / src.name
+            dst.parent.mkdir(parents=True, exist_ok=True)
+            if src.is_dir():
+                shutil.copytree(src, dst, copy_function=self._link)
+            else:
+                self._link(src, dst)
+        return str(dst)
+
+    @contextmanager
+    def open(self, uri: str, version: str, fetch: Callable[[str], str]) -> Iterator[str]:
+        """
+        Get the local path of an artifact, fetching it if it is not cached.
+        The entry is pinned while the context is open.
+
+        Parameters
+        ----------
+        uri : str
+            Artifact URI.
+        version : str
+            Artifact version (ETag, last modified, ...).
+        fetch : Callable[[str], str]
+            Function that fetches the artifact into the given destination
+            and returns the path of the fetched artifact.
+
+        Yields
+        ------
+        str
+            Local path of the artifact.
+        """
+        lock, path = self._acquire(uri, version, fetch)
+        try:
+            yield path
+        finally:
+            self._release(lock)
+
+    def clear(self) -> None:
+        """
+        Remove every cache entry not in use.
+
+        Returns
+        -------
+        None
+        """
+        for entry in (self.root / "entries").iterdir():
+            with self._lock(entry.name, blocking=False) as locked:
+                if locked:
+                    self._remove_entry(entry)
+
+    ############################
+    # Private helper methods
+    ############################
+
+    @staticmethod
+    def _build_key(uri: str, version: str | None) -> str:
+        """
+        Build the entry key.
+
+        Parameters
+        ----------
+        uri : str
+            Artifact URI.
+        version : str
+            Artifact version.
+
+        Returns
+        -------
+        str
+            The key.
+        """
+        return hashlib.sha256(f"{uri}\0{version or ''}".encode()).hexdigest()
+
+    def _acquire(self, uri: str, version: str, fetch: Callable[[str], str]) -> tuple[IO | None, str]:
+        """
+        Lock an entry shared, fetching it first if it is not cached.
+        The exclusive lock taken to fetch is downgraded to a shared one.
+        Lock conversions are not atomic, so the entry and its lock file are
+        checked again after each of them, starting over if the entry was
+        evicted in between.
+
+        Parameters
+        ----------
+        uri : str
+            Artifact URI.
+        version : str
+            Artifact version.
+        fetch : Callable[[str], str]
+            Fetch function.
+
+        Returns
+        -------
+        tuple[IO | None, str]
+            The lock file, to be released with _release(), and the local path.
+        """
+        key = self._build_key(uri, version)
+        entry = self.root / "entries" / key
+        fetched = False
+        while True:
+            lock = self._open_lock(key)
+            try:
+                if not self._flock(lock, "shared", key):
+                    self._release(lock)
+                    continue
+                meta = self._read_meta(entry)
+                if meta is None:
+                    if not self._flock(lock, "exclusive", key):
+                        self._release(lock)
+                        continue
+                    if self._read_meta(entry) is None:
+                        shutil.rmtree(entry, ignore_errors=True)
+                        self._fetch(uri, version, entry, fetch)
+                        fetched = True
+                    if not self._flock(lock, "shared", key):
+                        self._release(lock)
+                        continue
+                    meta = self._read_meta(entry)
+                    if meta is None:
+                        self._release(lock)
+                        continue
+                os.utime(entry / META_FILE)
+            except BaseException:
+                self._release(lock)
+                raise
+            break
+        if fetched:
+            self._evict()
+        return lock, str(entry / meta["path"])
+
+    def _fetch(self, uri: str, version: str, entry: Path, fetch: Callable[[str], str]) -> dict:
+        """
+        Fetch an artifact into a temporary directory and publish it as entry.
+
+        Parameters
+        ----------
+        uri : str
+            Artifact URI.
+        version : str
+            Artifact version.
+        entry : Path
+            Entry directory.
+        fetch : Callable[[str], str]
+            Fetch function.
+
+        Returns
+        -------
+        dict
+            Entry metadata.
+        """
+        tmp = Path(mkdtemp(dir=self.root / "tmp"))
+        try:
+            name = Path(urlparse(uri).path).name or "artifact"
+            path = Path(fetch(str(tmp / DATA_DIR / name)))
+            meta = {
+                "uri": uri,
+                "version": version,
+                "path": str(path.relative_to(tmp)),
+                "size": sum(f.stat().st_size for f in tmp.rglob("*") if f.is_file()),
+                "fetched_at": time.time(),
+            }
+            (tmp / META_FILE).write_text(json.dumps(meta))
+            os.replace(tmp, entry)
+            return meta
+        except Exception:
+            shutil.rmtree(tmp, ignore_errors=True)
+            raise
+
+    @staticmethod
+    def _read_meta(entry: Path) -> dict | None:
+        """
+        Read entry metadata.
+
+        Parameters
+        ----------
+        entry : Path
+            Entry directory.
+
+        Returns
+        -------
+        dict | None
+            Entry metadata, None if the entry does not exist or is corrupted.
+        """
+        try:
+            return json.loads((entry / META_FILE).read_text())
+        except (OSError, ValueError):
+            return None
+
+    def _evict(self) -> None:
+        """
+        Evict least recently used entries until the cache fits max_size.
+        Entries in use or being fetched are skipped.
+
+        Returns
+        -------
+        None
+        """
+        with self._lock("evict", blocking=False) as acquired:
+            if not acquired:
+                return
+            entries = []
+            for entry in (self.root / "entries").iterdir():
+                meta = self._read_meta(entry)
+                if meta is None:
+                    continue
+                entries.append((os.stat(entry / META_FILE).st_mtime, meta["size"], entry))
+            total = sum(e[1] for e in entries)
+            for _, size, entry in sorted(entries):
+                if total <= self.max_size:
+                    break
+                with self._lock(entry.name, blocking=False) as locked:
+                    if locked:
+                        self._remove_entry(entry)
+                        total -= size
+
+    def _remove_entry(self, entry: Path) -> None:
+        """
+        Remove an entry and its lock file. The caller must hold the entry
+        lock exclusively: processes waiting on the removed lock file notice
+        it was replaced and lock the new one.
+
+        Parameters
+        ----------
+        entry : Path
+            Entry directory.
+
+        Returns
+        -------
+        None
+        """
+        shutil.rmtree(entry, ignore_errors=True)
+        try:
+            (self.root / "locks" / f"{entry.name}.lock").unlink()
+        except FileNotFoundError:
+            pass
+
+    def _open_lock(self, name: str) -> IO | None:
+        """
+        Open the lock file of a cache entry.
+
+        Parameters
+        ----------
+        name : str
+            Lock name.
+
+        Returns
+        -------
+        IO | None
+            The lock file, None if file locks are not supported.
+        """
+        if fcntl is None:
+            return None
+        return open(self.root / "locks" / f"{name}.lock", "a+b")
+
+    def _flock(self, lock: IO | None, mode: str, name: str) -> bool:
+        """
+        Take a blocking lock, converting the one already held on the file.
+
+        Parameters
+        ----------
+        lock : IO | None
+            The lock file.
+        mode : str
+            "shared" or "exclusive".
+        name : str
+            Lock name.
+
+        Returns
+        -------
+        bool
+            False if the lock file was removed meanwhile, in which case
+            the lock is worthless and must be released.
+        """
+        if lock is None:
+            return True
+        fcntl.flock(lock, fcntl.LOCK_SH if mode == "shared" else fcntl.LOCK_EX)
+        return self._is_current(lock, name)
+
+    def _is_current(self, lock: IO, name: str) -> bool:
+        """
+        Check if a lock file is still the one published under its name.
+
+        Parameters
+        ----------
+        lock : IO
+            The lock file.
+        name : str
+            Lock name.
+
+        Returns
+        -------
+        bool
+            True if the lock file was not removed.
+        """
+        try:
+            current = os.stat(self.root / "locks" / f"{name}.lock")
+        except FileNotFoundError:
+            return False
+        return os.fstat(lock.fileno()).st_ino == current.st_ino
+
+    @staticmethod
+    def _link(src: str | Path, dst: str | Path) -> None:
+        """
+        Hard link a file, copying it if links are not supported
+        (e.g. across filesystems).
+
+        Parameters
+        ----------
+        src : str | Path
+            Source file.
+        dst : str | Path
+            Destination file.
+
+        Returns
+        -------
+        None
+        """
+        try:
+            os.link(src, dst)
+        except OSError:
+            shutil.copy2(src, dst)
+
+    @staticmethod
+    def _release(lock: IO | None) -> None:
+        """
+        Release a lock taken with _flock(), closing its file.
+
+        Parameters
+        ----------
+        lock : IO | None
+            The lock file.
+
+        Returns
+        -------
+        None
+        """
+        if lock is not None:
+            lock.close()
+
+    @contextmanager
+    def _lock(self, name: str, blocking: bool = True) -> Iterator[bool]:
+        """
+        Acquire an inter-process lock on a cache file.
+
+        Parameters
+        ----------
+        name : str
+            Lock name.
+        blocking : bool
+            Whether to wait for the lock.
+
+        Yields
+        ------
+        bool
+            True if the lock was acquired.
+        """
+        if fcntl is None:
+            yield True
+            return
+        with open(self.root / "locks" / f"{name}.lock", "a+b") as f:
+            flags = fcntl.LOCK_EX if blocking else fcntl.LOCK_EX | fcntl.LOCK_NB
+            try:
+                fcntl.flock(f, flags)
+            except BlockingIOError:
+                yield False
+                return
+            if not self._is_current(f, name):
+                fcntl.flock(f, fcntl.LOCK_UN)
+                yield False
+                return
+            try:
+                yield True
+            finally:
+                fcntl.flock(f, fcntl.LOCK_UN)
+
+
+_cache: ArtifactCache | None = None
+_cache_lock = Lock()
+
+
+def get_artifact_cache() -> ArtifactCache | None:
+    """
+    Get the artifact cache configured from the environment.
+    The cache is disabled unless DIGITALHUB_CACHE_MAX_SIZE sets its size in
+    bytes. DIGITALHUB_CACHE_DIR sets the directory.
+
+    Returns
+    -------
+    ArtifactCache | None
+        The artifact cache, None if disabled.
+    """
+    global _cache
+    max_size = int(os.getenv("DIGITALHUB_CACHE_MAX_SIZE", DEFAULT_MAX_SIZE))
+    if max_size <= 0:
+        return None
+    if _cache is None:
+        with _cache_lock:
+            if _cache is None:
+                root = os.getenv("DIGITALHUB_CACHE_DIR", str(Path.home() / ".cache" / "digitalhub"))
+                _cache = ArtifactCache(root, max_size)
+    return _cache
@@ -7,10 +7,12 @@ import shutil
 import typing
 from pathlib import Path
 
+import pyarrow.parquet as pq
 from digitalhub_core.stores.objects.base import Store, StoreConfig
 
 if typing.TYPE_CHECKING:
     import pandas as pd
+    import pyarrow as pa
 
 
 class LocalStoreConfig(StoreConfig):
@@ -150,6 +152,32 @@ class LocalStore(Store):
         df.to_parquet(dst, index=False, **kwargs)
         return dst
 
+    def write_table(self, table: pa.Table, dst: str | None = None, **kwargs) -> str:
+        """
+        Method to write a pyarrow Table to a parquet file. Kwargs are passed to
+        pyarrow.parquet.write_table(). If destination is not provided, the table
+        is written to the default store path with name data.parquet.
+
+        Parameters
+        ----------
+        table : pa.Table
+            The table to write.
+        dst : str
+            The destination of the table.
+        **kwargs
+            Keyword arguments.
+
+        Returns
+        -------
+        str
+            Path of written table.
+        """
+        if dst is None or not dst.endswith(".parquet"):
+            dst = str(Path(self.config.path) / "data.parquet")
+        self._check_local_dst(dst)
+        pq.write_table(table, dst, **kwargs)
+        return dst
+
     ############################
     # Store interface methods
     ############################
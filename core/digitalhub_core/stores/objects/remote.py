@@ -11,6 +11,7 @@ from digitalhub_core.stores.objects.base import Store, StoreConfig
 
 if typing.TYPE_CHECKING:
     import pandas as pd
+    import pyarrow as pa
 
 
 class RemoteStoreConfig(StoreConfig):
@@ -45,24 +46,6 @@ class RemoteStore(Store):
     # IO methods
     ############################
 
-    def download(self, src: str, dst: str | None = None) -> str:
-        """
-        Method to download an artifact from the backend.
-
-        Parameters
-        ----------
-        src : str
-            The source location of the artifact.
-        dst : str
-            The destination of the artifact.
-
-        Returns
-        -------
-        str
-            The path of the downloaded artifact.
-        """
-        return self._registry.get(src, self.fetch_artifact(src, dst))
-
     def fetch_artifact(self, src: str, dst: str | None = None) -> str:
         """
         Method to fetch an artifact from the remote storage and to register
@@ -122,10 +105,40 @@ class RemoteStore(Store):
         """
         raise NotImplementedError("Remote store does not support write_df.")
 
+    def write_table(self, table: pa.Table, dst: str | None = None, **kwargs) -> str:
+        """
+        Method to write a table to a file. Note that this method is not implemented
+        since the remote store is not meant to write tables.
+
+        Raises
+        ------
+        NotImplementedError
+            This method is not implemented.
+        """
+        raise NotImplementedError("Remote store does not support write_table.")
+
     ############################
     # Private helper methods
     ############################
 
+    def _get_version(self, src: str) -> str | None:
+        """
+        Get the ETag or the last modification date of a remote file with a HEAD request.
+
+        Parameters
+        ----------
+        src : str
+            The source location.
+
+        Returns
+        -------
+        str | None
+            The remote file version, if the server provides one.
+        """
+        r = requests.head(src, timeout=60)
+        r.raise_for_status()
+        return r.headers.get("ETag", r.headers.get("Last-Modified"))
+
     @staticmethod
     def _check_head(src) -> None:
         """
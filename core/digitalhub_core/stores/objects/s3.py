@@ -3,24 +3,36 @@ S3Store module.
 """
 from __future__ import annotations
 
+import time
 import typing
-from io import BytesIO
+from threading import Lock
 from typing import Type
 from urllib.parse import urlparse
 
 import boto3
 import botocore.client  # pylint: disable=unused-import
+import pyarrow as pa
+import pyarrow.parquet as pq
+import s3fs
+from botocore.config import Config
 from botocore.exceptions import ClientError
-from digitalhub_core.stores.objects.base import Store, StoreConfig
+from digitalhub_core.stores.objects.base import DEFAULT_BATCH_SIZE, Store, StoreConfig
+from digitalhub_core.stores.objects.s3_transfer import ProgressCallback, S3Transfer
 from digitalhub_core.utils.exceptions import StoreError
+from digitalhub_core.utils.uri_utils import map_uri_scheme
 
 if typing.TYPE_CHECKING:
     import pandas as pd
+    from digitalhub_core.stores.objects.base import Batch
+    from digitalhub_core.utils.data_utils import Filters
 
 
 # Type aliases
 S3Client = Type["botocore.client.S3"]
 
+# Number of DataFrame rows converted and written per parquet row group
+ROW_GROUP_SIZE = 100_000
+
 
 class S3StoreConfig(StoreConfig):
     """
@@ -39,6 +51,21 @@ class S3StoreConfig(StoreConfig):
     bucket_name: str
     """S3 bucket name."""
 
+    max_pool_connections: int = 10
+    """Maximum number of connections kept in the client connection pool."""
+
+    access_check_ttl: int = 300
+    """Seconds for which a successful bucket access check is cached."""
+
+    multipart_threshold: int = 8 * 1024 * 1024
+    """Size in bytes above which multipart uploads and ranged downloads are used."""
+
+    multipart_chunksize: int = 8 * 1024 * 1024
+    """Size in bytes of every part or range of a multipart transfer."""
+
+    max_concurrency: int = 10
+    """Maximum number of parts or ranges transferred in parallel."""
+
 
 class S3Store(Store):
     """
@@ -62,21 +89,17 @@ class S3Store(Store):
         super().__init__(name, store_type)
         self.config = config
 
+        # Private attributes
+        self._client: S3Client | None = None
+        self._transfer: S3Transfer | None = None
+        self._client_lock = Lock()
+        self._checked_buckets: dict[str, float] = {}
+
     ############################
     # IO methods
     ############################
 
-    def download(self, src: str, dst: str | None = None) -> str:
-        """
-        Download an artifact from S3 based storage.
-
-        See Also
-        --------
-        fetch_artifact
-        """
-        return self._registry.get(src, self.fetch_artifact(src, dst))
-
-    def fetch_artifact(self, src: str, dst: str | None = None) -> str:
+    def fetch_artifact(self, src: str, dst: str | None = None, callback: ProgressCallback | None = None) -> str:
         """
         Fetch an artifact from S3 based storage. If the destination is not provided,
         a temporary directory will be created and the artifact will be saved there.
@@ -87,6 +110,8 @@ class S3Store(Store):
             The source location of the artifact on S3.
         dst : str
             The destination of the artifact on local filesystem.
+        callback : ProgressCallback
+            Progress callback, called as callback(transferred, total, throughput).
 
         Returns
         -------
@@ -96,7 +121,7 @@ class S3Store(Store):
         dst = dst if dst is not None else self._build_temp(src)
         bucket = urlparse(src).netloc
         key = self._get_key(src)
-        return self._download_file(bucket, key, dst)
+        return self._download_file(bucket, key, dst, callback)
 
     def upload(self, src: str, dst: str | None = None) -> str:
         """
@@ -108,7 +133,7 @@ class S3Store(Store):
         """
         return self.persist_artifact(src, dst)
 
-    def persist_artifact(self, src: str, dst: str | None = None) -> str:
+    def persist_artifact(self, src: str, dst: str | None = None, callback: ProgressCallback | None = None) -> str:
         """
         Persist an artifact on S3 based storage. If the destination is not provided,
         the key will be extracted from the source path.
@@ -119,6 +144,8 @@ class S3Store(Store):
             The source object to be persisted.
         dst : str
             The destination partition for the artifact.
+        callback : ProgressCallback
+            Progress callback, called as callback(transferred, total, throughput).
 
         Returns
         -------
@@ -126,11 +153,13 @@ class S3Store(Store):
             Returns the URI of the artifact on S3 based storage.
         """
         key = self._get_key(dst) if dst is not None else self._get_key(src)
-        return self._upload_file(src, key)
+        return self._upload_file(src, key, callback)
 
     def write_df(self, df: pd.DataFrame, dst: str | None = None, **kwargs) -> str:
         """
-        Write a dataframe to S3 based storage. Kwargs are passed to df.to_parquet().
+        Write a dataframe to S3 based storage. The dataframe is converted and written
+        one row group at a time straight into a multipart upload, so the parquet file
+        is never held in memory. Kwargs are passed to pyarrow.parquet.ParquetWriter().
 
         Parameters
         ----------
@@ -148,10 +177,112 @@ class S3Store(Store):
         """
         if dst is None or not dst.endswith(".parquet"):
             raise StoreError("Destination must be a parquet file!")
-        fileobj = BytesIO()
-        df.to_parquet(fileobj, index=False, **kwargs)
-        key = self._get_key(dst)
-        return self._upload_fileobj(fileobj, key)
+        return self._upload_stream(self._get_key(dst), lambda f: self._write_parquet(df, f, **kwargs))
+
+    def write_table(self, table: pa.Table, dst: str | None = None, **kwargs) -> str:
+        """
+        Write a pyarrow Table to S3 based storage, streaming the parquet file into a
+        multipart upload. Kwargs are passed to pyarrow.parquet.write_table().
+
+        Parameters
+        ----------
+        table : pa.Table
+            The table.
+        dst : str
+            The destination path on S3 based storage.
+        **kwargs
+            Keyword arguments.
+
+        Returns
+        -------
+        str
+            The S3 path where the table was saved.
+        """
+        if dst is None or not dst.endswith(".parquet"):
+            raise StoreError("Destination must be a parquet file!")
+        return self._upload_stream(self._get_key(dst), lambda f: pq.write_table(table, f, **kwargs))
+
+    def read_df(
+        self,
+        path: str,
+        extension: str,
+        columns: list[str] | None = None,
+        filters: Filters = None,
+        **kwargs,
+    ) -> pd.DataFrame:
+        """
+        Read a DataFrame streaming it straight from S3 based storage with s3fs,
+        without writing it to local disk. Only the requested parquet columns
+        and row groups are fetched.
+
+        Parameters
+        ----------
+        path : str
+            The S3 path of the file.
+        extension : str
+            Extension of the file.
+        columns : list[str]
+            Columns to read.
+        filters : Filters
+            Row filters.
+        **kwargs
+            Keyword arguments.
+
+        Returns
+        -------
+        pd.DataFrame
+            Pandas DataFrame.
+        """
+        if map_uri_scheme(path) != "s3":
+            return super().read_df(path, extension, columns, filters, **kwargs)
+        return self._read_df(
+            path,
+            extension,
+            columns,
+            filters,
+            storage_options=self._get_storage_options(),
+            **kwargs,
+        )
+
+    def iter_batches(
+        self,
+        path: str,
+        extension: str,
+        batch_size: int = DEFAULT_BATCH_SIZE,
+        columns: list[str] | None = None,
+        as_pandas: bool = False,
+    ) -> typing.Iterator[Batch]:
+        """
+        Iterate over a file on S3 based storage in batches of rows, streaming it
+        with s3fs without writing it to local disk.
+
+        See Also
+        --------
+        Store.iter_batches
+        """
+        if map_uri_scheme(path) != "s3":
+            yield from super().iter_batches(path, extension, batch_size, columns, as_pandas)
+            return
+        fs_path = self._get_fs_path(path)
+        yield from self._iter_batches(fs_path, extension, batch_size, columns, as_pandas, self._get_filesystem())
+
+    def read_table(
+        self,
+        path: str,
+        extension: str,
+        columns: list[str] | None = None,
+        filters: Filters = None,
+    ) -> pa.Table:
+        """
+        Read a pyarrow Table streaming it straight from S3 based storage with s3fs.
+
+        See Also
+        --------
+        Store.read_table
+        """
+        if map_uri_scheme(path) != "s3":
+            return super().read_table(path, extension, columns, filters)
+        return self._read_table(self._get_fs_path(path), extension, columns, filters, self._get_filesystem())
 
     ############################
     # Private helper methods
@@ -168,9 +299,51 @@ class S3Store(Store):
         """
         return str(self.config.bucket_name)
 
+    def _get_version(self, src: str) -> str | None:
+        """
+        Get the ETag of an object with a head_object request.
+
+        Parameters
+        ----------
+        src : str
+            The source location of the artifact on S3.
+
+        Returns
+        -------
+        str | None
+            The object ETag.
+
+        Raises
+        ------
+        StoreError
+            If the object cannot be accessed.
+        """
+        try:
+            head = self._get_client().head_object(Bucket=urlparse(src).netloc, Key=self._get_key(src))
+        except ClientError as exc:
+            raise StoreError(f"No access to object '{src}'!") from exc
+        return head.get("ETag")
+
     def _get_client(self) -> S3Client:
         """
-        Get an S3 client object.
+        Get the S3 client object. The client is created once and reused
+        by every operation of the store. Boto3 clients are thread-safe,
+        only their creation is guarded by a lock.
+
+        Returns
+        -------
+        S3Client
+            Returns a client object that interacts with the S3 storage service.
+        """
+        if self._client is None:
+            with self._client_lock:
+                if self._client is None:
+                    self._client = self._build_client()
+        return self._client
+
+    def _build_client(self) -> S3Client:
+        """
+        Build a new S3 client object with a sized connection pool.
 
         Returns
         -------
@@ -181,8 +354,73 @@ class S3Store(Store):
             "endpoint_url": self.config.endpoint_url,
             "aws_access_key_id": self.config.aws_access_key_id,
             "aws_secret_access_key": self.config.aws_secret_access_key,
+            "config": Config(max_pool_connections=self.config.max_pool_connections),
+        }
+        return boto3.session.Session().client("s3", **cfg)
+
+    def _get_storage_options(self) -> dict:
+        """
+        Get the fsspec storage options used to read directly from S3.
+        s3fs caches filesystem instances by options, so connections are reused.
+
+        Returns
+        -------
+        dict
+            The storage options.
+        """
+        return {
+            "key": self.config.aws_access_key_id,
+            "secret": self.config.aws_secret_access_key,
+            "client_kwargs": {"endpoint_url": self.config.endpoint_url},
         }
-        return boto3.client("s3", **cfg)
+
+    def _get_filesystem(self) -> s3fs.S3FileSystem:
+        """
+        Get the s3fs filesystem bound to the store credentials.
+
+        Returns
+        -------
+        s3fs.S3FileSystem
+            The filesystem.
+        """
+        return s3fs.S3FileSystem(**self._get_storage_options())
+
+    def _get_fs_path(self, path: str) -> str:
+        """
+        Get the filesystem path (bucket/key) of an S3 URI.
+
+        Parameters
+        ----------
+        path : str
+            The S3 URI.
+
+        Returns
+        -------
+        str
+            The filesystem path.
+        """
+        return f"{urlparse(path).netloc}/{self._get_key(path)}"
+
+    def _get_transfer(self) -> S3Transfer:
+        """
+        Get the transfer engine bound to the store client.
+
+        Returns
+        -------
+        S3Transfer
+            The transfer engine.
+        """
+        if self._transfer is None:
+            client = self._get_client()
+            with self._client_lock:
+                if self._transfer is None:
+                    self._transfer = S3Transfer(
+                        client,
+                        multipart_threshold=self.config.multipart_threshold,
+                        multipart_chunksize=self.config.multipart_chunksize,
+                        max_concurrency=self.config.max_concurrency,
+                    )
+        return self._transfer
 
     @staticmethod
     def _get_key(path: str) -> str:
@@ -221,6 +459,7 @@ class S3Store(Store):
     def _check_access_to_storage(self, client: S3Client, bucket: str) -> None:
         """
         Check if the S3 bucket is accessible by sending a head_bucket request.
+        Successful checks are cached per bucket for config.access_check_ttl seconds.
 
         Parameters
         ----------
@@ -238,12 +477,17 @@ class S3Store(Store):
         StoreError:
             If access to the specified bucket is not available.
         """
+        checked = self._checked_buckets.get(bucket)
+        if checked is not None and time.monotonic() - checked < self.config.access_check_ttl:
+            return
         try:
             client.head_bucket(Bucket=bucket)
         except ClientError as exc:
+            self._checked_buckets.pop(bucket, None)
             raise StoreError("No access to s3 bucket!") from exc
+        self._checked_buckets[bucket] = time.monotonic()
 
-    def _download_file(self, bucket: str, key: str, dst: str) -> str:
+    def _download_file(self, bucket: str, key: str, dst: str, callback: ProgressCallback | None = None) -> str:
         """
         Download a file from S3 based storage. The function checks if the bucket is accessible
         and if the destination directory exists. If the destination directory does not exist,
@@ -257,6 +501,8 @@ class S3Store(Store):
             The key of the file on S3 based storage.
         dst : str
             The destination of the file on local filesystem.
+        callback : ProgressCallback
+            Progress callback.
 
         Returns
         -------
@@ -266,10 +512,10 @@ class S3Store(Store):
         client = self._get_client()
         self._check_access_to_storage(client, bucket)
         self._check_local_dst(dst)
-        client.download_file(bucket, key, dst)
+        self._get_transfer().download_file(bucket, key, dst, callback)
         return dst
 
-    def _upload_file(self, src: str, key: str) -> str:
+    def _upload_file(self, src: str, key: str, callback: ProgressCallback | None = None) -> str:
         """
         Upload a file to S3 based storage. The function checks if the bucket is accessible.
 
@@ -279,36 +525,71 @@ class S3Store(Store):
             The source path of the file on local filesystem.
         key : str
             The key of the file on S3 based storage.
+        callback : ProgressCallback
+            Progress callback.
 
         Returns
         -------
         str
             The URI of the uploaded file on S3 based storage.
         """
-        client, bucket = self._check_factory()
-        client.upload_file(Filename=src, Bucket=bucket, Key=key)
+        _, bucket = self._check_factory()
+        self._get_transfer().upload_file(src, bucket, key, callback)
         return f"s3://{bucket}/{key}"
 
-    def _upload_fileobj(self, fileobj: BytesIO, key: str) -> str:
+    def _upload_stream(self, key: str, write: typing.Callable[[typing.IO], None]) -> str:
         """
-        Upload a fileobject to S3 based storage. The function checks if the bucket is accessible.
+        Stream content to S3 based storage through a multipart writer.
+        The upload is aborted if the write function fails.
 
         Parameters
         ----------
-        fileobj : BytesIO
-            The fileobject to be uploaded.
         key : str
             The key of the file on S3 based storage.
+        write : typing.Callable[[typing.IO], None]
+            Function that writes the content into the file-like object it receives.
 
         Returns
         -------
         str
-            The URI of the uploaded fileobject on S3 based storage.
+            The URI of the uploaded file on S3 based storage.
         """
-        client, bucket = self._check_factory()
-        client.put_object(Bucket=bucket, Key=key, Body=fileobj.getvalue())
+        _, bucket = self._check_factory()
+        writer = self._get_transfer().open_writer(bucket, key)
+        try:
+            write(writer)
+        except Exception:
+            writer.abort()
+            raise
+        writer.close()
         return f"s3://{bucket}/{key}"
 
+    @staticmethod
+    def _write_parquet(df: pd.DataFrame, fileobj: typing.IO, **kwargs) -> None:
+        """
+        Write a dataframe as parquet into a file-like object, converting
+        ROW_GROUP_SIZE rows at a time. The schema of the first chunk is
+        enforced on the following ones.
+
+        Parameters
+        ----------
+        df : pd.DataFrame
+            The dataframe.
+        fileobj : typing.IO
+            Writable file-like object.
+        **kwargs
+            Keyword arguments passed to pyarrow.parquet.ParquetWriter().
+
+        Returns
+        -------
+        None
+        """
+        schema = pa.Schema.from_pandas(df, preserve_index=False)
+        with pq.ParquetWriter(fileobj, schema, **kwargs) as writer:
+            for start in range(0, max(len(df), 1), ROW_GROUP_SIZE):
+                chunk = df.iloc[start : start + ROW_GROUP_SIZE]
+                writer.write_table(pa.Table.from_pandas(chunk, schema=schema, preserve_index=False))
+
     ############################
     # Store interface methods
     ############################
@@ -0,0 +1,707 @@
+"""
+S3 transfer module.
+"""
+from __future__ import annotations
+
+import hashlib
+import math
+import os
+import time
+import typing
+from concurrent.futures import ThreadPoolExecutor
+from threading import BoundedSemaphore, Lock
+from typing import Callable
+
+from boto3.s3.transfer import TransferConfig
+from digitalhub_core.utils.exceptions import StoreError
+
+if typing.TYPE_CHECKING:
+    from digitalhub_core.stores.objects.s3 import S3Client
+
+
+# Type aliases
+ProgressCallback = Callable[[int, int, float], None]
+
+# S3 limits
+MIN_PART_SIZE = 5 * 1024 * 1024
+MAX_PARTS = 10000
+
+# Size of the chunks read from a ranged GET response
+STREAM_CHUNK_SIZE = 1024 * 1024
+
+
+class TransferProgress:
+    """
+    Thread-safe progress tracker for a single transfer. Every update calls the
+    user callback with the bytes transferred so far, the total bytes and the
+    current throughput in bytes per second.
+    """
+
+    def __init__(self, total: int, callback: ProgressCallback | None = None) -> None:
+        """
+        Constructor.
+
+        Parameters
+        ----------
+        total : int
+            Total bytes to transfer.
+        callback : ProgressCallback
+            Callback called as callback(transferred, total, throughput).
+        """
+        self.total = total
+        self.transferred = 0
+        self._callback = callback
+        self._start = time.monotonic()
+        self._lock = Lock()
+
+    def update(self, amount: int) -> None:
+        """
+        Register transferred bytes.
+
+        Parameters
+        ----------
+        amount : int
+            Bytes transferred since the last update.
+
+        Returns
+        -------
+        None
+        """
+        with self._lock:
+            self.transferred += amount
+            transferred = self.transferred
+        if self._callback is not None:
+            self._callback(transferred, self.total, self.throughput())
+
+    def throughput(self) -> float:
+        """
+        Get the average throughput of the transfer.
+
+        Returns
+        -------
+        float
+            Bytes per second.
+        """
+        elapsed = time.monotonic() - self._start
+        if elapsed <= 0:
+            return 0.0
+        return self.transferred / elapsed
+
+
+class S3Transfer:
+    """
+    S3 transfer engine. Files bigger than the multipart threshold are uploaded
+    with resumable multipart uploads and downloaded with parallel ranged GETs.
+    Smaller files go through the boto3 managed transfer.
+    """
+
+    def __init__(
+        self,
+        client: S3Client,
+        multipart_threshold: int,
+        multipart_chunksize: int,
+        max_concurrency: int,
+    ) -> None:
+        """
+        Constructor.
+
+        Parameters
+        ----------
+        client : S3Client
+            The S3 client object.
+        multipart_threshold : int
+            Size in bytes above which multipart transfers are used.
+        multipart_chunksize : int
+            Size in bytes of every part or range.
+        max_concurrency : int
+            Maximum number of parts or ranges transferred in parallel.
+        """
+        self.client = client
+        self.multipart_threshold = multipart_threshold
+        self.multipart_chunksize = max(multipart_chunksize, MIN_PART_SIZE)
+        self.max_concurrency = max(max_concurrency, 1)
+        self.config = TransferConfig(
+            multipart_threshold=multipart_threshold,
+            multipart_chunksize=self.multipart_chunksize,
+            max_concurrency=self.max_concurrency,
+        )
+
+    ############################
+    # Upload
+    ############################
+
+    def upload_file(
+        self,
+        src: str,
+        bucket: str,
+        key: str,
+        callback: ProgressCallback | None = None,
+        resume: bool = False,
+    ) -> None:
+        """
+        Upload a file to S3. A failed multipart upload is aborted, unless resume
+        is enabled: then it is left on S3 and the parts already uploaded are
+        reused by the next upload of the same key.
+
+        Parameters
+        ----------
+        src : str
+            The source path of the file on local filesystem.
+        bucket : str
+            The name of the S3 bucket.
+        key : str
+            The key of the file on S3.
+        callback : ProgressCallback
+            Progress callback.
+        resume : bool
+            Whether to resume an interrupted upload. Interrupted uploads that are
+            never resumed keep their parts on S3, so buckets used with resume
+            need a lifecycle rule aborting incomplete multipart uploads.
+
+        Returns
+        -------
+        None
+        """
+        size = os.path.getsize(src)
+        progress = TransferProgress(size, callback)
+        if size < self.multipart_threshold:
+            self.client.upload_file(src, bucket, key, Config=self.config, Callback=progress.update)
+            return
+        self._multipart_upload(src, size, bucket, key, progress, resume)
+
+    def _multipart_upload(
+        self,
+        src: str,
+        size: int,
+        bucket: str,
+        key: str,
+        progress: TransferProgress,
+        resume: bool,
+    ) -> None:
+        """
+        Upload a file with a multipart upload, skipping the parts already uploaded.
+
+        Parameters
+        ----------
+        src : str
+            The source path of the file.
+        size : int
+            The size of the file.
+        bucket : str
+            The name of the S3 bucket.
+        key : str
+            The key of the file on S3.
+        progress : TransferProgress
+            Progress tracker.
+        resume : bool
+            Whether to resume an interrupted upload.
+
+        Returns
+        -------
+        None
+        """
+        chunksize = max(self.multipart_chunksize, math.ceil(size / MAX_PARTS))
+        num_parts = math.ceil(size / chunksize)
+
+        upload_id = self._find_upload(bucket, key) if resume else None
+        uploaded = {}
+        if upload_id is None:
+            upload_id = self.client.create_multipart_upload(Bucket=bucket, Key=key)["UploadId"]
+        else:
+            uploaded = self._list_parts(bucket, key, upload_id)
+
+        try:
+            with ThreadPoolExecutor(max_workers=self.max_concurrency) as executor:
+                futures = [
+                    executor.submit(
+                        self._upload_part,
+                        src,
+                        bucket,
+                        key,
+                        upload_id,
+                        number,
+                        chunksize,
+                        uploaded.get(number),
+                        progress,
+                    )
+                    for number in range(1, num_parts + 1)
+                ]
+                parts = [f.result() for f in futures]
+            self.client.complete_multipart_upload(
+                Bucket=bucket,
+                Key=key,
+                UploadId=upload_id,
+                MultipartUpload={"Parts": parts},
+            )
+        except Exception as exc:
+            if not resume:
+                self.client.abort_multipart_upload(Bucket=bucket, Key=key, UploadId=upload_id)
+            raise StoreError(f"Multipart upload of '{key}' failed.") from exc
+
+    def _upload_part(
+        self,
+        src: str,
+        bucket: str,
+        key: str,
+        upload_id: str,
+        number: int,
+        chunksize: int,
+        existing: dict | None,
+        progress: TransferProgress,
+    ) -> dict:
+        """
+        Upload a single part unless an identical part is already on S3.
+
+        Parameters
+        ----------
+        src : str
+            The source path of the file.
+        bucket : str
+            The name of the S3 bucket.
+        key : str
+            The key of the file on S3.
+        upload_id : str
+            The multipart upload id.
+        number : int
+            The part number, starting from 1.
+        chunksize : int
+            Size of the parts.
+        existing : dict
+            Part already uploaded with the same number, if any.
+        progress : TransferProgress
+            Progress tracker.
+
+        Returns
+        -------
+        dict
+            Part descriptor for complete_multipart_upload.
+        """
+        with open(src, "rb") as f:
+            f.seek((number - 1) * chunksize)
+            data = f.read(chunksize)
+
+        if existing is not None and existing["Size"] == len(data):
+            if existing["ETag"].strip('"') == hashlib.md5(data).hexdigest():
+                progress.update(len(data))
+                return {"PartNumber": number, "ETag": existing["ETag"]}
+
+        resp = self.client.upload_part(
+            Bucket=bucket,
+            Key=key,
+            UploadId=upload_id,
+            PartNumber=number,
+            Body=data,
+        )
+        progress.update(len(data))
+        return {"PartNumber": number, "ETag": resp["ETag"]}
+
+    def _find_upload(self, bucket: str, key: str) -> str | None:
+        """
+        Find the most recent unfinished multipart upload of a key.
+
+        Parameters
+        ----------
+        bucket : str
+            The name of the S3 bucket.
+        key : str
+            The key of the file on S3.
+
+        Returns
+        -------
+        str | None
+            The upload id, if any.
+        """
+        paginator = self.client.get_paginator("list_multipart_uploads")
+        uploads = []
+        for page in paginator.paginate(Bucket=bucket, Prefix=key):
+            uploads.extend(u for u in page.get("Uploads", []) if u["Key"] == key)
+        if not uploads:
+            return None
+        return max(uploads, key=lambda u: u["Initiated"])["UploadId"]
+
+    def _list_parts(self, bucket: str, key: str, upload_id: str) -> dict[int, dict]:
+        """
+        List the parts already uploaded for a multipart upload.
+
+        Parameters
+        ----------
+        bucket : str
+            The name of the S3 bucket.
+        key : str
+            The key of the file on S3.
+        upload_id : str
+            The multipart upload id.
+
+        Returns
+        -------
+        dict[int, dict]
+            Parts by part number.
+        """
+        parts = {}
+        paginator = self.client.get_paginator("list_parts")
+        for page in paginator.paginate(Bucket=bucket, Key=key, UploadId=upload_id):
+            for part in page.get("Parts", []):
+                parts[part["PartNumber"]] = part
+        return parts
+
+    def open_writer(self, bucket: str, key: str) -> S3MultipartWriter:
+        """
+        Open a streaming writer on a key.
+
+        Parameters
+        ----------
+        bucket : str
+            The name of the S3 bucket.
+        key : str
+            The key of the file on S3.
+
+        Returns
+        -------
+        S3MultipartWriter
+            The writer.
+        """
+        return S3MultipartWriter(self.client, bucket, key, self.multipart_chunksize, self.max_concurrency)
+
+    ############################
+    # Download
+    ############################
+
+    def download_file(
+        self,
+        bucket: str,
+        key: str,
+        dst: str,
+        callback: ProgressCallback | None = None,
+    ) -> None:
+        """
+        Download a file from S3. Objects bigger than the multipart threshold
+        are fetched with parallel ranged GETs.
+
+        Parameters
+        ----------
+        bucket : str
+            The name of the S3 bucket.
+        key : str
+            The key of the file on S3.
+        dst : str
+            The destination of the file on local filesystem.
+        callback : ProgressCallback
+            Progress callback.
+
+        Returns
+        -------
+        None
+        """
+        head = self.client.head_object(Bucket=bucket, Key=key)
+        size = head["ContentLength"]
+        progress = TransferProgress(size, callback)
+        if size < self.multipart_threshold:
+            self.client.download_file(bucket, key, dst, Config=self.config, Callback=progress.update)
+            return
+        self._ranged_download(bucket, key, dst, size, head["ETag"], progress)
+
+    def _ranged_download(
+        self,
+        bucket: str,
+        key: str,
+        dst: str,
+        size: int,
+        etag: str,
+        progress: TransferProgress,
+    ) -> None:
+        """
+        Download an object with parallel ranged GETs into a temporary file,
+        then move it to the destination.
+
+        Parameters
+        ----------
+        bucket : str
+            The name of the S3 bucket.
+        key : str
+            The key of the file on S3.
+        dst : str
+            The destination of the file on local filesystem.
+        size : int
+            The size of the object.
+        etag : str
+            The object ETag, used to detect changes during the download.
+        progress : TransferProgress
+            Progress tracker.
+
+        Returns
+        -------
+        None
+        """
+        tmp = f"{dst}.part"
+        with open(tmp, "wb") as f:
+            f.truncate(size)
+        try:
+            with ThreadPoolExecutor(max_workers=self.max_concurrency) as executor:
+                futures = [
+                    executor.submit(
+                        self._download_range,
+                        bucket,
+                        key,
+                        tmp,
+                        start,
+                        min(start + self.multipart_chunksize, size) - 1,
+                        etag,
+                        progress,
+                    )
+                    for start in range(0, size, self.multipart_chunksize)
+                ]
+                for f in futures:
+                    f.result()
+            os.replace(tmp, dst)
+        except Exception as exc:
+            if os.path.exists(tmp):
+                os.remove(tmp)
+            raise StoreError(f"Ranged download of '{key}' failed.") from exc
+
+    def _download_range(
+        self,
+        bucket: str,
+        key: str,
+        dst: str,
+        start: int,
+        end: int,
+        etag: str,
+        progress: TransferProgress,
+    ) -> None:
+        """
+        Download a byte range of an object and write it at its offset.
+
+        Parameters
+        ----------
+        bucket : str
+            The name of the S3 bucket.
+        key : str
+            The key of the file on S3.
+        dst : str
+            The destination file.
+        start : int
+            First byte of the range.
+        end : int
+            Last byte of the range (inclusive).
+        etag : str
+            The object ETag.
+        progress : TransferProgress
+            Progress tracker.
+
+        Returns
+        -------
+        None
+        """
+        resp = self.client.get_object(Bucket=bucket, Key=key, Range=f"bytes={start}-{end}", IfMatch=etag)
+        with open(dst, "r+b") as f:
+            f.seek(start)
+            for chunk in resp["Body"].iter_chunks(STREAM_CHUNK_SIZE):
+                f.write(chunk)
+                progress.update(len(chunk))
+
+
+class S3MultipartWriter:
+    """
+    Write-only file-like object that streams its content to S3 as a multipart
+    upload. Data is buffered until a part is full, then the part is uploaded
+    in background. At most max_concurrency parts are in flight, so memory is
+    bounded to roughly (max_concurrency + 1) * part_size.
+    The upload is completed on close() and discarded on abort().
+    """
+
+    def __init__(
+        self,
+        client: S3Client,
+        bucket: str,
+        key: str,
+        part_size: int,
+        max_concurrency: int,
+    ) -> None:
+        """
+        Constructor.
+
+        Parameters
+        ----------
+        client : S3Client
+            The S3 client object.
+        bucket : str
+            The name of the S3 bucket.
+        key : str
+            The key of the file on S3.
+        part_size : int
+            Size in bytes of every part.
+        max_concurrency : int
+            Maximum number of parts uploaded in parallel.
+        """
+        self.client = client
+        self.bucket = bucket
+        self.key = key
+        self.part_size = max(part_size, MIN_PART_SIZE)
+        self.closed = False
+
+        self._buffer = bytearray()
+        self._position = 0
+        self._upload_id: str | None = None
+        self._futures = []
+        self._slots = BoundedSemaphore(max_concurrency)
+        self._executor = ThreadPoolExecutor(max_workers=max_concurrency)
+
+    def write(self, data: bytes) -> int:
+        """
+        Write bytes, uploading every full part.
+
+        Parameters
+        ----------
+        data : bytes
+            Bytes to write.
+
+        Returns
+        -------
+        int
+            Number of bytes written.
+        """
+        if self.closed:
+            raise ValueError("I/O operation on closed writer.")
+        self._buffer += data
+        self._position += len(data)
+        while len(self._buffer) >= self.part_size:
+            part = bytes(self._buffer[: self.part_size])
+            del self._buffer[: self.part_size]
+            self._submit_part(part)
+        return len(data)
+
+    def tell(self) -> int:
+        """
+        Get the number of bytes written so far.
+
+        Returns
+        -------
+        int
+            Current position.
+        """
+        return self._position
+
+    def writable(self) -> bool:
+        """
+        The writer is writable.
+
+        Returns
+        -------
+        bool
+            True
+        """
+        return True
+
+    def flush(self) -> None:
+        """
+        No-op, parts are uploaded as soon as they are full.
+
+        Returns
+        -------
+        None
+        """
+
+    def close(self) -> None:
+        """
+        Upload the remaining data and complete the upload. Objects smaller
+        than a part are sent with a single put_object.
+
+        Returns
+        -------
+        None
+        """
+        if self.closed:
+            return
+        try:
+            if self._upload_id is None:
+                self.client.put_object(Bucket=self.bucket, Key=self.key, Body=bytes(self._buffer))
+            else:
+                if self._buffer:
+                    self._submit_part(bytes(self._buffer))
+                parts = [f.result() for f in self._futures]
+                self.client.complete_multipart_upload(
+                    Bucket=self.bucket,
+                    Key=self.key,
+                    UploadId=self._upload_id,
+                    MultipartUpload={"Parts": parts},
+                )
+        except Exception as exc:
+            self.abort()
+            raise StoreError(f"Streaming upload of '{self.key}' failed.") from exc
+        finally:
+            self._release()
+
+    def abort(self) -> None:
+        """
+        Discard the upload and every part already sent.
+
+        Returns
+        -------
+        None
+        """
+        if self._upload_id is not None:
+            for f in self._futures:
+                f.cancel()
+            self._executor.shutdown(wait=True)
+            self.client.abort_multipart_upload(Bucket=self.bucket, Key=self.key, UploadId=self._upload_id)
+            self._upload_id = None
+        self._release()
+
+    def _submit_part(self, data: bytes) -> None:
+        """
+        Upload a part in background, waiting for a free slot.
+
+        Parameters
+        ----------
+        data : bytes
+            Part content.
+
+        Returns
+        -------
+        None
+        """
+        if self._upload_id is None:
+            self._upload_id = self.client.create_multipart_upload(Bucket=self.bucket, Key=self.key)["UploadId"]
+        self._slots.acquire()
+        number = len(self._futures) + 1
+        self._futures.append(self._executor.submit(self._upload_part, number, data))
+
+    def _upload_part(self, number: int, data: bytes) -> dict:
+        """
+        Upload a single part.
+
+        Parameters
+        ----------
+        number : int
+            The part number, starting from 1.
+        data : bytes
+            Part content.
+
+        Returns
+        -------
+        dict
+            Part descriptor for complete_multipart_upload.
+        """
+        try:
+            resp = self.client.upload_part(
+                Bucket=self.bucket,
+                Key=self.key,
+                UploadId=self._upload_id,
+                PartNumber=number,
+                Body=data,
+            )
+            return {"PartNumber": number, "ETag": resp["ETag"]}
+        finally:
+            self._slots.release()
+
+    def _release(self) -> None:
+        """
+        Release buffer and workers.
+
+        Returns
+        -------
+        None
+        """
+        self.closed = True
+        self._buffer = bytearray()
+        self._executor.shutdown(wait=False)
@@ -3,14 +3,44 @@ SQLStore module.
 """
 from __future__ import annotations
 
+import csv
+import io
+import shutil
+import time
+import typing
+from concurrent.futures import ThreadPoolExecutor
 from pathlib import Path
+from threading import Lock
 
 import pandas as pd
-from digitalhub_core.stores.objects.base import Store, StoreConfig
+import pyarrow as pa
+import pyarrow.parquet as pq
+from digitalhub_core.stores.objects.base import DEFAULT_BATCH_SIZE, Store, StoreConfig
+from digitalhub_core.utils.data_utils import normalize_filters
 from digitalhub_core.utils.exceptions import StoreError
-from sqlalchemy import create_engine
+from digitalhub_core.utils.generic_utils import build_uuid
+from digitalhub_core.utils.uri_utils import map_uri_scheme
+from sqlalchemy import and_, column, create_engine, func, inspect, literal_column, or_, select, text
+from sqlalchemy import types as sqltypes
 from sqlalchemy.engine import Engine
 from sqlalchemy.exc import SQLAlchemyError
+from sqlalchemy.sql.expression import TableClause
+
+if typing.TYPE_CHECKING:
+    from digitalhub_core.stores.objects.base import Batch
+    from digitalhub_core.utils.data_utils import Filters
+    from sqlalchemy.engine import Connection
+    from sqlalchemy.sql import ColumnElement, Select
+
+
+# Rows serialized at a time when streaming a DataFrame through COPY
+COPY_CHUNK_ROWS = 50_000
+
+# NULL marker of the COPY text format, distinct from the empty string
+COPY_NULL = "\\N"
+
+# Bytes read from the COPY stream per COPY message
+COPY_READ_SIZE = 1024 * 1024
 
 
 class SQLStoreConfig(StoreConfig):
@@ -33,6 +63,33 @@ class SQLStoreConfig(StoreConfig):
     database: str
     """SQL database name."""
 
+    pool_size: int = 5
+    """Number of connections kept open in the engine connection pool."""
+
+    max_overflow: int = 10
+    """Connections that can be opened beyond pool_size under load."""
+
+    pool_pre_ping: bool = True
+    """Test connections for liveness when they are checked out of the pool."""
+
+    pool_recycle: int = 1800
+    """Seconds after which a pooled connection is replaced."""
+
+    access_check_ttl: int = 300
+    """Seconds for which a successful database access check is cached."""
+
+    export_batch_size: int = 100_000
+    """Rows fetched from the server-side cursor and written as a parquet row group on export."""
+
+    export_max_file_size: int = 512 * 1024 * 1024
+    """Size in bytes after which an exported parquet file rolls over to a new one."""
+
+    export_partitions: int = 1
+    """Number of partitions read in parallel on export. 1 disables partitioned export."""
+
+    export_partition_column: typing.Optional[str] = None
+    """Numeric column used to split the table in key ranges. If None, ctid ranges are used."""
+
 
 class SqlStore(Store):
     """
@@ -56,24 +113,31 @@ class SqlStore(Store):
         super().__init__(name, store_type)
         self.config = config
 
+        # Private attributes
+        self._engine: Engine | None = None
+        self._engine_lock = Lock()
+        self._checked_at: float | None = None
+
     ############################
     # IO methods
     ############################
 
-    def download(self, src: str, dst: str | None = None) -> str:
-        """
-        Download an artifact from SQL based storage.
-
-        See Also
-        --------
-        fetch_artifact
-        """
-        return self._registry.get(src, self.fetch_artifact(src, dst))
-
-    def fetch_artifact(self, src: str, dst: str | None = None) -> str:
+    def fetch_artifact(
+        self,
+        src: str,
+        dst: str | None = None,
+        partitions: int | None = None,
+        partition_column: str | None = None,
+    ) -> str:
         """
         Fetch an artifact from SQL based storage. If the destination is not provided,
         a temporary directory will be created and the artifact will be saved there.
+        The table is streamed into parquet through a server-side cursor. Small tables
+        are saved as a single data.parquet file, larger ones as a data directory of
+        parquet files of at most config.export_max_file_size bytes each.
+        With more than one partition, ranges of the table are read in parallel over
+        pooled connections and written as one parquet file per partition in a data
+        directory.
 
         Parameters
         ----------
@@ -81,16 +145,24 @@ class SqlStore(Store):
             Table name.
         dst : str
             The destination of the artifact on local filesystem.
+        partitions : int
+            Number of partitions read in parallel. Defaults to config.export_partitions.
+        partition_column : str
+            Numeric column used to split the table in key ranges. If None, the table is
+            split in ctid (physical block) ranges. Defaults to config.export_partition_column.
 
         Returns
         -------
         str
-            Returns a file path.
+            Returns a file path or a directory path of parquet files.
         """
         dst = dst if dst is not None else self._build_temp(src)
-        dst = str(Path(dst) / "data.parquet")
         schema = self._get_schema(src)
         table = self._get_table_name(src)
+        partitions = partitions if partitions is not None else self.config.export_partitions
+        partition_column = partition_column if partition_column is not None else self.config.export_partition_column
+        if partitions > 1:
+            return self._download_partitions(schema, table, dst, partitions, partition_column)
         return self._download_table(schema, table, dst)
 
     def upload(self, src: str, dst: str | None = None) -> str:
@@ -117,9 +189,20 @@ class SqlStore(Store):
         """
         raise NotImplementedError("SQL store does not support persist_artifact.")
 
-    def write_df(self, df: pd.DataFrame, dst: str | None = None, **kwargs) -> str:
+    def write_df(
+        self,
+        df: pd.DataFrame,
+        dst: str | None = None,
+        bulk: bool = False,
+        staging: bool = False,
+        unlogged: bool = False,
+        **kwargs,
+    ) -> str:
         """
-        Write a dataframe to a database. Kwargs are passed to df.to_sql().
+        Write a dataframe to a database. By default kwargs are passed to df.to_sql().
+        With bulk=True the dataframe is streamed through COPY FROM STDIN,
+        which is much faster on large dataframes. In this case only the if_exists
+        keyword argument ("fail", "replace", "append") is supported.
 
         Parameters
         ----------
@@ -127,6 +210,15 @@ class SqlStore(Store):
             The dataframe.
         dst : str
             The destination table on database.
+        bulk : bool
+            Whether to load rows with COPY instead of INSERTs through df.to_sql().
+        staging : bool
+            Only for bulk=True. Load rows into a staging table and swap it in
+            by rename, so readers never see a partially loaded table.
+        unlogged : bool
+            Only for bulk=True. Create new tables as UNLOGGED. Unlogged tables
+            skip the WAL but are truncated after a crash, so use them only for
+            intermediate data.
         **kwargs
             Keyword arguments.
 
@@ -141,8 +233,108 @@ class SqlStore(Store):
         else:
             schema = self._get_schema(dst)
             table = self._get_table_name(dst)
+        if bulk:
+            return self._copy_table(df, schema, table, staging=staging, unlogged=unlogged, **kwargs)
         return self._upload_table(df, schema, table, **kwargs)
 
+    def write_table(self, table: pa.Table, dst: str | None = None, **kwargs) -> str:
+        """
+        Write a pyarrow Table to a database. The table is converted to pandas
+        and written with write_df().
+
+        See Also
+        --------
+        write_df
+        """
+        return self.write_df(table.to_pandas(), dst, **kwargs)
+
+    def read_df(
+        self,
+        path: str,
+        extension: str,
+        columns: list[str] | None = None,
+        filters: Filters = None,
+        **kwargs,
+    ) -> pd.DataFrame:
+        """
+        Read a DataFrame from a table. If columns or filters are specified, they are
+        pushed down to the database as SELECT <columns> ... WHERE <filters>. Otherwise
+        the table is exported with download(). Kwargs are passed to pd.read_sql().
+
+        Parameters
+        ----------
+        path : str
+            The SQL uri of the table.
+        extension : str
+            Extension of the exported file.
+        columns : list[str]
+            Columns to read.
+        filters : Filters
+            Row filters.
+        **kwargs
+            Keyword arguments.
+
+        Returns
+        -------
+        pd.DataFrame
+            Pandas DataFrame.
+        """
+        if map_uri_scheme(path) != "sql" or (columns is None and not filters):
+            return super().read_df(path, extension, columns, filters, **kwargs)
+        schema = self._get_schema(path)
+        table = self._get_table_name(path)
+        engine = self._check_factory()
+        query = self._build_select(schema, table, columns, filters)
+        return pd.read_sql(query, engine, **kwargs)
+
+    def read_table(
+        self,
+        path: str,
+        extension: str,
+        columns: list[str] | None = None,
+        filters: Filters = None,
+    ) -> pa.Table:
+        """
+        Read a pyarrow Table from a table. Columns and filters are pushed down
+        to the database as in read_df(), otherwise the exported parquet file is
+        read without pandas conversion.
+
+        See Also
+        --------
+        read_df
+        """
+        if map_uri_scheme(path) != "sql" or (columns is None and not filters):
+            return super().read_table(path, extension, columns, filters)
+        return pa.Table.from_pandas(self.read_df(path, extension, columns, filters), preserve_index=False)
+
+    def iter_batches(
+        self,
+        path: str,
+        extension: str,
+        batch_size: int = DEFAULT_BATCH_SIZE,
+        columns: list[str] | None = None,
+        as_pandas: bool = False,
+    ) -> typing.Iterator[Batch]:
+        """
+        Iterate over a table in batches of rows. Rows are streamed from the
+        database through a server-side cursor, so only one batch is in memory.
+
+        See Also
+        --------
+        Store.iter_batches
+        """
+        if map_uri_scheme(path) != "sql":
+            yield from super().iter_batches(path, extension, batch_size, columns, as_pandas)
+            return
+        schema = self._get_schema(path)
+        table = self._get_table_name(path)
+        engine = self._check_factory()
+        query = self._build_select(schema, table, columns)
+        with engine.connect() as conn:
+            conn = conn.execution_options(stream_results=True)
+            for chunk in pd.read_sql(query, conn, chunksize=batch_size):
+                yield chunk if as_pandas else pa.RecordBatch.from_pandas(chunk, preserve_index=False)
+
     ############################
     # Private helper methods
     ############################
@@ -162,6 +354,22 @@ class SqlStore(Store):
         )
 
     def _get_engine(self) -> Engine:
+        """
+        Get the store engine. The engine and its connection pool are created
+        on first use and shared by every operation of the store.
+
+        Returns
+        -------
+        Engine
+            An SQLAlchemy engine.
+        """
+        if self._engine is None:
+            with self._engine_lock:
+                if self._engine is None:
+                    self._engine = self._build_engine()
+        return self._engine
+
+    def _build_engine(self) -> Engine:
         """
         Create engine from connection string.
 
@@ -174,7 +382,13 @@ class SqlStore(Store):
         if not isinstance(connection_string, str):
             raise StoreError("Connection string must be a string.")
         try:
-            return create_engine(connection_string)
+            return create_engine(
+                connection_string,
+                pool_size=self.config.pool_size,
+                max_overflow=self.config.max_overflow,
+                pool_pre_ping=self.config.pool_pre_ping,
+                pool_recycle=self.config.pool_recycle,
+            )
         except Exception as ex:
             raise StoreError(f"Something wrong with connection string. Arguments: {str(ex.args)}")
 
@@ -251,10 +465,79 @@ class SqlStore(Store):
         """
         return str(self._parse_path(uri).get("table"))
 
+    def _build_select(
+        self,
+        schema: str,
+        table: str,
+        columns: list[str] | None = None,
+        filters: Filters = None,
+    ) -> Select:
+        """
+        Build a SELECT statement on a table.
+
+        Parameters
+        ----------
+        schema : str
+            The origin schema.
+        table : str
+            The origin table.
+        columns : list[str]
+            Columns to select. If None, all columns are selected.
+        filters : Filters
+            Row filters.
+
+        Returns
+        -------
+        Select
+            The SELECT statement.
+        """
+        cols = [column(c) for c in columns] if columns is not None else [literal_column("*")]
+        query = select(*cols).select_from(TableClause(table, schema=schema))
+        conjunctions = [and_(*[self._build_predicate(*p) for p in c]) for c in normalize_filters(filters)]
+        if conjunctions:
+            query = query.where(or_(*conjunctions))
+        return query
+
     @staticmethod
-    def _check_access_to_storage(engine: Engine) -> None:
+    def _build_predicate(name: str, op: str, value: typing.Any) -> ColumnElement:
         """
-        Check if there is access to the storage.
+        Build a SQL predicate from a filter.
+
+        Parameters
+        ----------
+        name : str
+            Column name.
+        op : str
+            Filter operator.
+        value : typing.Any
+            Filter value.
+
+        Returns
+        -------
+        ColumnElement
+            The predicate.
+        """
+        col = column(name)
+        if op in ("=", "=="):
+            return col == value
+        if op == "!=":
+            return col != value
+        if op == "<":
+            return col < value
+        if op == ">":
+            return col > value
+        if op == "<=":
+            return col <= value
+        if op == ">=":
+            return col >= value
+        if op == "in":
+            return col.in_(value)
+        return col.not_in(value)
+
+    def _check_access_to_storage(self, engine: Engine) -> None:
+        """
+        Check if there is access to the storage with a cheap query.
+        Successful checks are cached for config.access_check_ttl seconds.
 
         Parameters
         ----------
@@ -270,15 +553,79 @@ class SqlStore(Store):
         StoreError
             If there is no access to the storage.
         """
+        checked = self._checked_at
+        if checked is not None and time.monotonic() - checked < self.config.access_check_ttl:
+            return
         try:
-            engine.connect()
-        except SQLAlchemyError:
+            with engine.connect() as conn:
+                conn.execute(text("SELECT 1"))
+        except SQLAlchemyError as exc:
+            self._checked_at = None
             engine.dispose()
-            raise StoreError("No access to db!")
+            raise StoreError("No access to db!") from exc
+        self._checked_at = time.monotonic()
 
     def _download_table(self, schema: str, table: str, dst: str) -> str:
         """
-        Download a table from SQL based storage.
+        Download a table from SQL based storage. Rows are read through a
+        server-side cursor and written as parquet row groups as they arrive,
+        so memory usage does not depend on the table size. When a file exceeds
+        config.export_max_file_size, the export rolls over to a new file.
+        The parquet schema is derived from the column types of the table.
+
+        Parameters
+        ----------
+        schema : str
+            The origin schema.
+        table : str
+            The origin table.
+        dst : str
+            The destination directory.
+
+        Returns
+        -------
+        str
+            The path of data.parquet, or of the data directory if the export
+            rolled over to multiple files.
+        """
+        engine = self._check_factory()
+        self._check_local_dst(dst)
+        single = Path(dst) / "data.parquet"
+        parts = Path(dst) / "data"
+        query = self._build_select(schema, table)
+        arrow_schema, to_string = self._table_schema(engine, schema, table)
+        files = self._export_query(
+            engine,
+            query,
+            lambda i: parts / f"part-{i:05d}.parquet",
+            arrow_schema,
+            to_string,
+            max_file_size=self.config.export_max_file_size,
+        )
+        if len(files) > 1:
+            return str(parts)
+        if files:
+            files[0].replace(single)
+        else:
+            pq.write_table(arrow_schema.empty_table(), single)
+        shutil.rmtree(parts, ignore_errors=True)
+        return str(single)
+
+    def _download_partitions(
+        self,
+        schema: str,
+        table: str,
+        dst: str,
+        partitions: int,
+        partition_column: str | None = None,
+    ) -> str:
+        """
+        Download a table from SQL based storage reading partitions in parallel.
+        Every partition is exported over its own pooled connection into a
+        parquet file. A snapshot is exported once and imported by every
+        partition, so all of them read the same state of the table even under
+        concurrent writes. The parquet schema is derived from the column types
+        of the table.
 
         Parameters
         ----------
@@ -287,18 +634,248 @@ class SqlStore(Store):
         table : str
             The origin table.
         dst : str
-            The destination path.
+            The destination directory.
+        partitions : int
+            Number of partitions.
+        partition_column : str
+            Numeric column used to split the table in key ranges. If None,
+            ctid ranges are used.
 
         Returns
         -------
         str
-            The destination path.
+            The path of the data directory.
         """
         engine = self._check_factory()
         self._check_local_dst(dst)
-        pd.read_sql_table(table, engine, schema=schema).to_parquet(dst, index=False)
-        engine.dispose()
-        return dst
+        parts = Path(dst) / "data"
+        parts.mkdir(parents=True, exist_ok=True)
+        query = self._build_select(schema, table)
+        arrow_schema, to_string = self._table_schema(engine, schema, table)
+
+        # The exporting transaction must stay open while partitions are read
+        with engine.connect() as conn:
+            conn = conn.execution_options(isolation_level="REPEATABLE READ")
+            with conn.begin():
+                snapshot = conn.execute(text("SELECT pg_export_snapshot()")).scalar()
+                if partition_column is not None:
+                    predicates = self._key_ranges(conn, schema, table, partition_column, partitions)
+                else:
+                    predicates = self._ctid_ranges(conn, schema, table, partitions)
+
+                def export(idx: int) -> list[Path]:
+                    return self._export_query(
+                        engine,
+                        query.where(predicates[idx]),
+                        lambda _: parts / f"part-{idx:05d}.parquet",
+                        arrow_schema,
+                        to_string,
+                        snapshot=snapshot,
+                    )
+
+                # One pooled connection is held by the exporting transaction
+                workers = max(min(len(predicates), self.config.pool_size + self.config.max_overflow - 1), 1)
+                with ThreadPoolExecutor(max_workers=workers) as executor:
+                    files = [f for written in executor.map(export, range(len(predicates))) for f in written]
+
+        if not files:
+            pq.write_table(arrow_schema.empty_table(), parts / "part-00000.parquet")
+        return str(parts)
+
+    @staticmethod
+    def _key_ranges(conn: Connection, schema: str, table: str, key: str, partitions: int) -> list[ColumnElement]:
+        """
+        Split a table in ranges of a numeric column. The first range also
+        holds the rows where the column is NULL, the last one is open ended.
+
+        Parameters
+        ----------
+        conn : Connection
+            An SQLAlchemy connection in the exporting transaction.
+        schema : str
+            The origin schema.
+        table : str
+            The origin table.
+        key : str
+            The partition column.
+        partitions : int
+            Number of partitions.
+
+        Returns
+        -------
+        list[ColumnElement]
+            One predicate per partition.
+        """
+        col = column(key)
+        query = select(func.min(col), func.max(col)).select_from(TableClause(table, schema=schema))
+        low, high = conn.execute(query).one()
+        if low is None:
+            return [col.is_(None)]
+        step = (high - low) / partitions
+        bounds = [low + step * i for i in range(1, partitions)]
+        predicates = []
+        for i in range(partitions):
+            conds = []
+            if i > 0:
+                conds.append(col >= bounds[i - 1])
+            if i < partitions - 1:
+                conds.append(col < bounds[i])
+            predicate = and_(*conds)
+            predicates.append(or_(predicate, col.is_(None)) if i == 0 else predicate)
+        return predicates
+
+    def _ctid_ranges(self, conn: Connection, schema: str, table: str, partitions: int) -> list[ColumnElement]:
+        """
+        Split a table in ranges of physical blocks using ctid. From Postgres 14
+        every range is read with a TID range scan; on older versions every
+        partition scans the table, but rows are still converted in parallel.
+        The last range is open ended, so rows in blocks added meanwhile are
+        not lost.
+
+        Parameters
+        ----------
+        conn : Connection
+            An SQLAlchemy connection in the exporting transaction.
+        schema : str
+            The origin schema.
+        table : str
+            The origin table.
+        partitions : int
+            Number of partitions.
+
+        Returns
+        -------
+        list[ColumnElement]
+            One predicate per partition.
+        """
+        relation = self._quote(conn, schema, table)
+        query = text("SELECT pg_relation_size(CAST(:rel AS regclass)) / current_setting('block_size')::bigint")
+        blocks = conn.execute(query, {"rel": relation}).scalar() or 0
+        step = max(blocks // partitions, 1)
+        bounds = [step * i for i in range(1, partitions) if step * i < blocks]
+        ctid = literal_column("ctid")
+        predicates = []
+        for i in range(len(bounds) + 1):
+            conds = []
+            if i > 0:
+                conds.append(ctid >= literal_column(f"'({bounds[i - 1]},0)'::tid"))
+            if i < len(bounds):
+                conds.append(ctid < literal_column(f"'({bounds[i]},0)'::tid"))
+            predicates.append(and_(*conds) if conds else text("TRUE"))
+        return predicates
+
+    def _export_query(
+        self,
+        engine: Engine,
+        query: Select,
+        build_path: typing.Callable[[int], Path],
+        arrow_schema: pa.Schema,
+        to_string: list[str],
+        max_file_size: int | None = None,
+        snapshot: str | None = None,
+    ) -> list[Path]:
+        """
+        Stream the result of a query into parquet files through a server-side
+        cursor, writing a row group per batch of config.export_batch_size rows.
+        Every batch is converted with the given arrow schema, so that the type
+        of a column does not depend on the values of a single batch. When the
+        schema has decimal columns, values are not coerced to floats so that
+        decimals keep their precision, and float columns are cast explicitly.
+
+        Parameters
+        ----------
+        engine : Engine
+            An SQLAlchemy engine.
+        query : Select
+            The query.
+        build_path : typing.Callable[[int], Path]
+            Function returning the path of the n-th file.
+        arrow_schema : pa.Schema
+            Schema of the parquet files, see _table_schema.
+        to_string : list[str]
+            Columns whose values are converted to strings, see _table_schema.
+        max_file_size : int
+            Size in bytes after which the export rolls over to a new file.
+            If None, a single file is written.
+        snapshot : str
+            Snapshot exported by pg_export_snapshot() to read the query in.
+
+        Returns
+        -------
+        list[Path]
+            The written files, empty if the query returned no rows.
+        """
+        writer = None
+        sink = None
+        files: list[Path] = []
+        decimals = any(pa.types.is_decimal(field.type) for field in arrow_schema)
+        floats = [field.name for field in arrow_schema if decimals and pa.types.is_floating(field.type)]
+        try:
+            with engine.connect() as conn:
+                conn = conn.execution_options(stream_results=True)
+                if snapshot is not None:
+                    conn = conn.execution_options(isolation_level="REPEATABLE READ")
+                with conn.begin():
+                    if snapshot is not None:
+                        snapshot = snapshot.replace("'", "''")
+                        conn.execute(text(f"SET TRANSACTION SNAPSHOT '{snapshot}'"))
+                    chunks = pd.read_sql(
+                        query, conn, chunksize=self.config.export_batch_size, coerce_float=not decimals
+                    )
+                    for chunk in chunks:
+                        for col in to_string:
+                            chunk[col] = chunk[col].map(str, na_action="ignore")
+                        for col in floats:
+                            chunk[col] = chunk[col].astype("float64")
+                        if writer is not None and max_file_size is not None and sink.tell() >= max_file_size:
+                            writer.close()
+                            sink.close()
+                            writer = None
+                        if writer is None:
+                            path = build_path(len(files))
+                            path.parent.mkdir(parents=True, exist_ok=True)
+                            files.append(path)
+                            sink = pa.OSFile(str(path), "wb")
+                            writer = pq.ParquetWriter(sink, arrow_schema)
+                        writer.write_table(pa.Table.from_pandas(chunk, schema=arrow_schema, preserve_index=False))
+        finally:
+            if writer is not None:
+                writer.close()
+                sink.close()
+        return files
+
+    @staticmethod
+    def _table_schema(engine: Engine, schema: str, table: str) -> tuple[pa.Schema, list[str]]:
+        """
+        Derive the arrow schema of a table from the types of its columns.
+        NUMERIC columns with precision and scale become decimals, unconstrained
+        NUMERIC columns become float64 as in read_df(). Types without an arrow
+        equivalent (JSON, UUID, arrays, ...) are exported as strings.
+
+        Parameters
+        ----------
+        engine : Engine
+            An SQLAlchemy engine.
+        schema : str
+            The origin schema.
+        table : str
+            The origin table.
+
+        Returns
+        -------
+        tuple[pa.Schema, list[str]]
+            The arrow schema and the columns whose values must be converted
+            to strings.
+        """
+        fields = []
+        to_string = []
+        for col in inspect(engine).get_columns(table, schema=schema):
+            arrow_type = _arrow_type(col["type"])
+            if arrow_type is None:
+                arrow_type = pa.string()
+                to_string.append(col["name"])
+            fields.append(pa.field(col["name"], arrow_type))
+        return pa.schema(fields), to_string
 
     def _upload_table(self, df: pd.DataFrame, schema: str, table: str, **kwargs) -> str:
         """
@@ -322,9 +899,130 @@ class SqlStore(Store):
         """
         engine = self._check_factory()
         df.to_sql(table, engine, schema=schema, index=False, **kwargs)
-        engine.dispose()
         return f"sql://{engine.url.database}/{schema}/{table}"
 
+    def _copy_table(
+        self,
+        df: pd.DataFrame,
+        schema: str,
+        table: str,
+        if_exists: str = "fail",
+        staging: bool = False,
+        unlogged: bool = False,
+    ) -> str:
+        """
+        Upload a table to SQL based storage with COPY FROM STDIN.
+        Everything runs in a single transaction.
+
+        Parameters
+        ----------
+        df : pd.DataFrame
+            The dataframe.
+        schema : str
+            Destination schema.
+        table : str
+            Destination table.
+        if_exists : str
+            Behaviour if the table exists, one of "fail", "replace", "append".
+        staging : bool
+            Whether to load into a staging table and swap it in.
+        unlogged : bool
+            Whether to create new tables as UNLOGGED.
+
+        Returns
+        -------
+        str
+            The SQL URI where the dataframe was saved.
+
+        Raises
+        ------
+        StoreError
+            If the table exists and if_exists is "fail".
+        """
+        if if_exists not in ("fail", "replace", "append"):
+            raise StoreError(f"Invalid if_exists value '{if_exists}'.")
+        engine = self._check_factory()
+        with engine.begin() as conn:
+            exists = inspect(conn).has_table(table, schema=schema)
+            if exists and if_exists == "fail":
+                raise StoreError(f"Table {schema}.{table} already exists.")
+
+            if not staging:
+                df.head(0).to_sql(table, conn, schema=schema, index=False, if_exists=if_exists)
+                if unlogged and (not exists or if_exists == "replace"):
+                    conn.execute(text(f"ALTER TABLE {self._quote(conn, schema, table)} SET UNLOGGED"))
+                self._copy_rows(conn, df, schema, table)
+                return f"sql://{engine.url.database}/{schema}/{table}"
+
+            stage = f"{table[:40]}_stg_{build_uuid()[:8]}"
+            df.head(0).to_sql(stage, conn, schema=schema, index=False)
+            if unlogged:
+                conn.execute(text(f"ALTER TABLE {self._quote(conn, schema, stage)} SET UNLOGGED"))
+            self._copy_rows(conn, df, schema, stage)
+
+            target = self._quote(conn, schema, table)
+            source = self._quote(conn, schema, stage)
+            if exists and if_exists == "append":
+                cols = ", ".join(conn.dialect.identifier_preparer.quote(str(c)) for c in df.columns)
+                conn.execute(text(f"INSERT INTO {target} ({cols}) SELECT {cols} FROM {source}"))
+                conn.execute(text(f"DROP TABLE {source}"))
+            else:
+                if exists:
+                    conn.execute(text(f"DROP TABLE {target}"))
+                new_name = conn.dialect.identifier_preparer.quote(table)
+                conn.execute(text(f"ALTER TABLE {source} RENAME TO {new_name}"))
+        return f"sql://{engine.url.database}/{schema}/{table}"
+
+    @classmethod
+    def _copy_rows(cls, conn: Connection, df: pd.DataFrame, schema: str, table: str) -> None:
+        """
+        Stream dataframe rows into a table through COPY FROM STDIN, in text
+        format, where NULL and the empty string are told apart.
+
+        Parameters
+        ----------
+        conn : Connection
+            An SQLAlchemy connection in a transaction.
+        df : pd.DataFrame
+            The dataframe.
+        schema : str
+            Destination schema.
+        table : str
+            Destination table.
+
+        Returns
+        -------
+        None
+        """
+        if df.empty:
+            return
+        cols = ", ".join(conn.dialect.identifier_preparer.quote(str(c)) for c in df.columns)
+        query = f"COPY {cls._quote(conn, schema, table)} ({cols}) FROM STDIN WITH (FORMAT text)"
+        with conn.connection.cursor() as cursor:
+            cursor.copy_expert(query, _CopyStream(df), size=COPY_READ_SIZE)
+
+    @staticmethod
+    def _quote(conn: Connection, schema: str, table: str) -> str:
+        """
+        Quote a schema qualified table name.
+
+        Parameters
+        ----------
+        conn : Connection
+            An SQLAlchemy connection.
+        schema : str
+            The schema.
+        table : str
+            The table.
+
+        Returns
+        -------
+        str
+            The quoted name.
+        """
+        preparer = conn.dialect.identifier_preparer
+        return f"{preparer.quote_schema(schema)}.{preparer.quote(table)}"
+
     ############################
     # Store interface methods
     ############################
@@ -340,3 +1038,154 @@ class SqlStore(Store):
             False
         """
         return False
+
+
+class _CopyStream(io.RawIOBase):
+    """
+    Read-only stream that serializes a DataFrame to the COPY text format lazily,
+    COPY_CHUNK_ROWS rows at a time, so the whole dataframe is never held in memory
+    as text. Missing values are written as COPY_NULL and backslashes, tabs and
+    line breaks in strings are escaped, so empty strings stay empty strings.
+    """
+
+    def __init__(self, df: pd.DataFrame) -> None:
+        """
+        Constructor.
+
+        Parameters
+        ----------
+        df : pd.DataFrame
+            The dataframe.
+        """
+        self._chunks = (
+            self._serialize(df.iloc[start : start + COPY_CHUNK_ROWS]) for start in range(0, len(df), COPY_CHUNK_ROWS)
+        )
+        self._buffer = memoryview(b"")
+        self._pos = 0
+
+    @staticmethod
+    def _serialize(df: pd.DataFrame) -> bytes:
+        """
+        Serialize rows to the COPY text format.
+
+        Parameters
+        ----------
+        df : pd.DataFrame
+            The rows.
+
+        Returns
+        -------
+        bytes
+            Tab separated rows.
+        """
+        df = df.copy(deep=False)
+        for col in df.columns:
+            if pd.api.types.is_string_dtype(df[col].dtype):
+                df[col] = df[col].map(_escape_copy, na_action="ignore")
+        # Strings are escaped above, so no field needs quoting
+        return df.to_csv(
+            index=False,
+            header=False,
+            sep="\t",
+            na_rep=COPY_NULL,
+            quoting=csv.QUOTE_NONE,
+            quotechar="\0",
+        ).encode()
+
+    def readable(self) -> bool:
+        """
+        The stream is readable.
+
+        Returns
+        -------
+        bool
+            True
+        """
+        return True
+
+    def readinto(self, b: bytearray) -> int:
+        """
+        Read bytes into a pre-allocated buffer.
+
+        Parameters
+        ----------
+        b : bytearray
+            The buffer.
+
+        Returns
+        -------
+        int
+            Number of bytes read, 0 at end of stream.
+        """
+        while self._pos >= len(self._buffer):
+            try:
+                self._buffer = memoryview(next(self._chunks))
+                self._pos = 0
+            except StopIteration:
+                return 0
+        size = min(len(b), len(self._buffer) - self._pos)
+        b[:size] = self._buffer[self._pos : self._pos + size]
+        self._pos += size
+        return size
+
+
+def _arrow_type(sql_type: sqltypes.TypeEngine) -> pa.DataType | None:
+    """
+    Map an SQLAlchemy column type to an arrow type.
+
+    Parameters
+    ----------
+    sql_type : sqltypes.TypeEngine
+        The column type.
+
+    Returns
+    -------
+    pa.DataType | None
+        The arrow type, None if values must be exported as strings.
+    """
+    if isinstance(sql_type, sqltypes.Boolean):
+        return pa.bool_()
+    if isinstance(sql_type, sqltypes.SmallInteger):
+        return pa.int16()
+    if isinstance(sql_type, sqltypes.BigInteger):
+        return pa.int64()
+    if isinstance(sql_type, sqltypes.Integer):
+        return pa.int32()
+    if isinstance(sql_type, sqltypes.Float):
+        return pa.float64()
+    if isinstance(sql_type, sqltypes.Numeric):
+        if sql_type.precision is None or sql_type.scale is None:
+            return pa.float64()
+        if sql_type.precision <= 38:
+            return pa.decimal128(sql_type.precision, sql_type.scale)
+        return pa.decimal256(sql_type.precision, sql_type.scale)
+    if isinstance(sql_type, sqltypes.DateTime):
+        return pa.timestamp("us", tz="UTC" if sql_type.timezone else None)
+    if isinstance(sql_type, sqltypes.Date):
+        return pa.date32()
+    if isinstance(sql_type, sqltypes.Time):
+        return pa.time64("us")
+    if isinstance(sql_type, sqltypes.Interval):
+        return pa.duration("us")
+    if isinstance(sql_type, sqltypes._Binary):
+        return pa.binary()
+    if isinstance(sql_type, sqltypes.String):
+        return pa.string()
+    return None
+
+
+def _escape_copy(value: typing.Any) -> str:
+    """
+    Escape a value for the COPY text format.
+
+    Parameters
+    ----------
+    value : typing.Any
+        The value.
+
+    Returns
+    -------
+    str
+        The escaped value.
+    """
+    return str(value).replace("\\", "\\\\").replace("\t", "\\t").replace("\n", "\\n").replace("\r", "\\r")
@@ -119,6 +119,28 @@ def api_ctx_delete(
     return f"{API_CONTEXT}/{proj}/{dto}/{name}{version}?cascade=true"
 
 
+def api_ctx_list(
+    proj: str,
+    dto: str,
+) -> str:
+    """
+    List context API.
+
+    Parameters
+    ----------
+    proj : str
+        Name of the project.
+    dto : str
+        The type of the DTO.
+
+    Returns
+    -------
+    str
+        The API string formatted.
+    """
+    return f"{API_CONTEXT}/{proj}/{dto}"
+
+
 ####################
 # Base controller APIs
 ####################
@@ -0,0 +1,130 @@
+"""
+Common data utils.
+"""
+from __future__ import annotations
+
+import typing
+
+if typing.TYPE_CHECKING:
+    import pandas as pd
+
+
+# Filters in disjunctive normal form, the same notation used by pyarrow:
+# a list of (column, op, value) tuples joined by AND, or a list of such lists joined by OR.
+Filters = typing.Union[list, None]
+
+FILTER_OPS = ["=", "==", "!=", "<", ">", "<=", ">=", "in", "not in"]
+
+
+def normalize_filters(filters: Filters) -> list[list[tuple]]:
+    """
+    Normalize filters to a list of AND-ed conjunctions joined by OR.
+
+    Parameters
+    ----------
+    filters : Filters
+        Filters as [(col, op, val), ...] or [[(col, op, val), ...], ...].
+
+    Returns
+    -------
+    list[list[tuple]]
+        Normalized filters.
+
+    Raises
+    ------
+    ValueError
+        If filters are malformed or use an unsupported operator.
+    """
+    if not filters:
+        return []
+    if isinstance(filters[0], tuple):
+        filters = [filters]
+    for conjunction in filters:
+        for predicate in conjunction:
+            if not isinstance(predicate, tuple) or len(predicate) != 3:
+                raise ValueError(f"Malformed filter {predicate}. Must be (column, op, value).")
+            if predicate[1] not in FILTER_OPS:
+                raise ValueError(f"Filter operator '{predicate[1]}' not supported.")
+    return [list(c) for c in filters]
+
+
+def filter_columns(filters: Filters) -> list[str]:
+    """
+    Get the columns used by filters, in order of appearance.
+
+    Parameters
+    ----------
+    filters : Filters
+        Filters as [(col, op, val), ...] or [[(col, op, val), ...], ...].
+
+    Returns
+    -------
+    list[str]
+        Column names.
+    """
+    columns = [col for conjunction in normalize_filters(filters) for col, _, _ in conjunction]
+    return list(dict.fromkeys(columns))
+
+
+def filter_df(df: pd.DataFrame, filters: Filters) -> pd.DataFrame:
+    """
+    Apply filters to a DataFrame.
+
+    Parameters
+    ----------
+    df : pd.DataFrame
+        The DataFrame.
+    filters : Filters
+        Filters to apply.
+
+    Returns
+    -------
+    pd.DataFrame
+        Filtered DataFrame.
+    """
+    filters = normalize_filters(filters)
+    if not filters:
+        return df
+    mask = None
+    for conjunction in filters:
+        conj_mask = None
+        for col, op, val in conjunction:
+            pred = _predicate_mask(df[col], op, val)
+            conj_mask = pred if conj_mask is None else conj_mask & pred
+        mask = conj_mask if mask is None else mask | conj_mask
+    return df[mask].reset_index(drop=True)
+
+
+def _predicate_mask(series: pd.Series, op: str, val: typing.Any) -> pd.Series:
+    """
+    Evaluate a single predicate on a Series.
+
+    Parameters
+    ----------
+    series : pd.Series
+        The column.
+    op : str
+        The operator.
+    val : typing.Any
+        The value.
+
+    Returns
+    -------
+    pd.Series
+        Boolean mask.
+    """
+    if op in ("=", "=="):
+        return series == val
+    if op == "!=":
+        return series != val
+    if op == "<":
+        return series < val
+    if op == ">":
+        return series > val
+    if op == "<=":
+        return series <= val
+    if op == ">=":
+        return series >= val
+    if op == "in":
+        return series.isin(val)
+    return ~series.isin(val)
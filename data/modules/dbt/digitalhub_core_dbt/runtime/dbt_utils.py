@@ -1,3 +1,5 @@
+from __future__ import annotations
+
 import os
 from pathlib import Path
 
@@ -9,7 +11,7 @@ PROJECT_TEMPLATE = """
 name: "{}"
 version: "1.0.0"
 config-version: 2
-profile: "postgres"
+profile: "{}"
 model-paths: ["{}"]
 models:
 """.lstrip(
@@ -28,6 +30,34 @@ models:
     "\n"
 )
 
+# Inputs referenced in place are inlined in the output model as CTEs
+MODEL_TEMPLATE_EPHEMERAL = """
+models:
+  - name: {}
+    latest_version: {}
+    versions:
+        - v: {}
+          config:
+            materialized: ephemeral
+""".lstrip(
+    "\n"
+)
+
+# Outputs of the duckdb engine are written as parquet files
+MODEL_TEMPLATE_EXTERNAL = """
+models:
+  - name: {}
+    latest_version: {}
+    versions:
+        - v: {}
+          config:
+            materialized: external
+            location: "{}"
+            format: parquet
+""".lstrip(
+    "\n"
+)
+
 PROFILE_TEMPLATE = f"""
 postgres:
     outputs:
@@ -44,24 +74,91 @@ postgres:
     "\n"
 )
 
+PROFILE_TEMPLATE_DUCKDB = """
+duckdb:
+    outputs:
+        dev:
+            type: duckdb
+            path: "{}"
+            threads: {}
+    target: dev
+""".lstrip(
+    "\n"
+)
+
 ####################
 # Functions
 ####################
 
 
-def generate_dbt_profile_yml(root_dir: Path) -> None:
+def write_if_changed(path: Path, text: str) -> Path:
+    """
+    Write a file only if its content changed, so that dbt partial
+    parsing does not reparse files identical to the previous run.
+
+    Parameters
+    ----------
+    path : Path
+        The file path.
+    text : str
+        The file content.
+
+    Returns
+    -------
+    Path
+        The file path.
+    """
+    if not path.exists() or path.read_text() != text:
+        path.write_text(text)
+    return path
+
+
+def remove_stale_models(model_dir: Path, keep: list[Path]) -> None:
+    """
+    Remove model files left by previous runs. Paths are compared once
+    resolved, so relative and absolute spellings of a file match.
+
+    Parameters
+    ----------
+    model_dir : Path
+        The models directory.
+    keep : list[Path]
+        The model files of the current run.
+
+    Returns
+    -------
+    None
+    """
+    resolved = {Path(path).resolve() for path in keep}
+    for path in model_dir.iterdir():
+        if path.is_file() and path.resolve() not in resolved:
+            path.unlink()
+
+
+def generate_dbt_profile_yml(root_dir: Path, engine: str = "postgres") -> None:
     """
     Create dbt profiles.yml
 
+    Parameters
+    ----------
+    root_dir : Path
+        The dbt project directory.
+    engine : str
+        The engine, postgres or duckdb. The duckdb database is a file
+        in the project directory.
+
     Returns
     -------
     None
     """
-    profiles_path = root_dir / "profiles.yml"
-    profiles_path.write_text(PROFILE_TEMPLATE)
+    if engine == "duckdb":
+        profile = PROFILE_TEMPLATE_DUCKDB.format((root_dir / "dbt.duckdb").resolve(), os.cpu_count() or 1)
+    else:
+        profile = PROFILE_TEMPLATE
+    write_if_changed(root_dir / "profiles.yml", profile)
 
 
-def generate_dbt_project_yml(root_dir: Path, model_dir: Path, project: str) -> None:
+def generate_dbt_project_yml(root_dir: Path, model_dir: Path, project: str, engine: str = "postgres") -> None:
     """
     Create dbt_project.yml from 'dbt'
 
@@ -69,16 +166,23 @@ def generate_dbt_project_yml(root_dir: Path, model_dir: Path, project: str) -> N
     ----------
     project : str
         The project name.
+    engine : str
+        The engine, used as profile name.
 
     Returns
     -------
     None
     """
-    project_path = root_dir / "dbt_project.yml"
-    project_path.write_text(PROJECT_TEMPLATE.format(project, model_dir.name))
+    write_if_changed(root_dir / "dbt_project.yml", PROJECT_TEMPLATE.format(project, engine, model_dir.name))
 
 
-def generate_outputs_conf(model_dir: Path, sql: str, output: str, uuid: str) -> None:
+def generate_outputs_conf(
+    model_dir: Path,
+    sql: str,
+    output: str,
+    uuid: str,
+    location: str | None = None,
+) -> list[Path]:
     """
     Write sql code for the model and write schema
     and version detail for outputs versioning
@@ -91,37 +195,56 @@ def generate_outputs_conf(model_dir: Path, sql: str, output: str, uuid: str) ->
         The output table name.
     uuid : str
         The uuid of the model for outputs versioning.
+    location : str | None
+        Path of the parquet file the output is written to,
+        instead of a table. Used by the duckdb engine.
 
     Returns
     -------
-    None
+    list[Path]
+        The written files.
     """
-    sql_path = model_dir / f"{output}.sql"
-    sql_path.write_text(sql)
-
-    output_path = model_dir / f"{output}.yml"
-    output_path.write_text(MODEL_TEMPLATE_VERSION.format(output, uuid, uuid))
-
-
-def generate_inputs_conf(model_dir: Path, name: str, uuid: str) -> None:
+    sql_path = write_if_changed(model_dir / f"{output}.sql", sql)
+    if location is None:
+        conf = MODEL_TEMPLATE_VERSION.format(output, uuid, uuid)
+    else:
+        conf = MODEL_TEMPLATE_EXTERNAL.format(output, uuid, uuid, location)
+    output_path = write_if_changed(model_dir / f"{output}.yml", conf)
+    return [sql_path, output_path]
+
+
+def generate_inputs_conf(
+    model_dir: Path,
+    name: str,
+    uuid: str,
+    source: str | None = None,
+) -> list[Path]:
     """
     Generate inputs confs dependencies for dbt project.
 
     Parameters
     ----------
-    project : str
-        The project name.
-    inputs : list
-        The list of inputs dataitems names.
+    model_dir : Path
+        The models directory.
+    name : str
+        The input dataitem name.
+    uuid : str
+        The input dataitem uuid.
+    source : str | None
+        Relation the input is read from in place, e.g. a table of the
+        dbt database or a duckdb read_parquet() call. If given, the model
+        selects from it directly, without copies.
 
     Returns
     -------
-    None
+    list[Path]
+        The written files.
     """
     # write schema and version detail for inputs versioning
-    input_path = model_dir / f"{name}.yml"
-    input_path.write_text(MODEL_TEMPLATE_VERSION.format(name, uuid, uuid))
+    template = MODEL_TEMPLATE_VERSION if source is None else MODEL_TEMPLATE_EPHEMERAL
+    input_path = write_if_changed(model_dir / f"{name}.yml", template.format(name, uuid, uuid))
 
     # write also sql select for the schema
-    sql_path = model_dir / f"{name}_v{uuid}.sql"
-    sql_path.write_text(f'SELECT * FROM "{name}_v{uuid}"')
+    relation = f'"{name}_v{uuid}"' if source is None else source
+    sql_path = write_if_changed(model_dir / f"{name}_v{uuid}.sql", f"SELECT * FROM {relation}")
+    return [input_path, sql_path]
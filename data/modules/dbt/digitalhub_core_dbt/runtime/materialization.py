@@ -0,0 +1,229 @@
+"""
+Materialization catalog module.
+"""
+from __future__ import annotations
+
+import typing
+
+from digitalhub_core.utils.logger import LOGGER
+from psycopg2 import sql
+
+if typing.TYPE_CHECKING:
+    import psycopg2
+
+CATALOG_TABLE = "dhcore_materializations"
+
+# Advisory lock namespaces. Runs hold a shared "in use" lock on every table
+# they read, garbage collection needs the exclusive one to drop a table.
+# The "load" lock serializes concurrent materializations of the same dataitem.
+LOCK_IN_USE = 7301
+LOCK_LOAD = 7302
+
+
+class MaterializationCatalog:
+    """
+    Persistent cache of dataitems materialized in postgres. A catalog table
+    maps every dataitem id to its materialized table, size and last use, so
+    that runs reuse tables of unchanged dataitems instead of reloading them.
+    When the cached tables exceed max_size bytes, the least recently used
+    ones not in use by any run are dropped.
+    """
+
+    def __init__(
+        self,
+        connect: typing.Callable[[], psycopg2.extensions.connection],
+        schema: str,
+        max_size: int,
+    ) -> None:
+        """
+        Constructor.
+
+        Parameters
+        ----------
+        connect : typing.Callable[[], psycopg2.extensions.connection]
+            Function returning a new autocommit connection.
+        schema : str
+            Schema of the catalog and of the materialized tables.
+        max_size : int
+            Maximum size in bytes of the cached tables.
+        """
+        self.connect = connect
+        self.schema = schema
+        self.max_size = max_size
+
+        # Session holding the "in use" locks for the whole run
+        self._session = connect()
+        try:
+            with self._session.cursor() as cursor:
+                cursor.execute(
+                    sql.SQL(
+                        "CREATE TABLE IF NOT EXISTS {catalog} ("
+                        "dataitem_id TEXT PRIMARY KEY, "
+                        "table_name TEXT NOT NULL, "
+                        "size_bytes BIGINT NOT NULL DEFAULT 0, "
+                        "last_used TIMESTAMPTZ NOT NULL DEFAULT now())"
+                    ).format(catalog=self._catalog())
+                )
+        except Exception:
+            self.release()
+            raise
+
+    def get_or_materialize(self, dataitem_id: str, table: str, materialize: typing.Callable[[], str]) -> str:
+        """
+        Get the table of a dataitem, materializing it only if it is not cached.
+        The table is marked in use until release() is called.
+
+        Parameters
+        ----------
+        dataitem_id : str
+            The dataitem id.
+        table : str
+            The table name.
+        materialize : typing.Callable[[], str]
+            Function materializing the dataitem and returning the table name.
+
+        Returns
+        -------
+        str
+            The table name.
+        """
+        with self._session.cursor() as cursor:
+            cursor.execute("SELECT pg_advisory_lock_shared(%s, hashtext(%s))", (LOCK_IN_USE, dataitem_id))
+
+        conn = self.connect()
+        try:
+            conn.autocommit = False
+            with conn.cursor() as cursor:
+                cursor.execute("SELECT pg_advisory_xact_lock(%s, hashtext(%s))", (LOCK_LOAD, dataitem_id))
+                if self._is_cached(cursor, dataitem_id, table):
+                    LOGGER.info(f"Reusing materialized table '{table}'.")
+                else:
+                    table = materialize()
+                    cursor.execute(
+                        sql.SQL(
+                            "INSERT INTO {catalog} (dataitem_id, table_name, size_bytes) "
+                            "VALUES (%s, %s, pg_total_relation_size(to_regclass(%s))) "
+                            "ON CONFLICT (dataitem_id) DO UPDATE SET table_name = EXCLUDED.table_name, "
+                            "size_bytes = EXCLUDED.size_bytes, last_used = now()"
+                        ).format(catalog=self._catalog()),
+                        (dataitem_id, table, self._qualified(table)),
+                    )
+            conn.commit()
+        except Exception:
+            conn.rollback()
+            raise
+        finally:
+            conn.close()
+        return table
+
+    def release(self) -> None:
+        """
+        Release the "in use" locks held by the run, closing its session.
+        Must be called on every exit path of the run, otherwise the tables
+        it used can never be collected while the process lives.
+
+        Returns
+        -------
+        None
+        """
+        if not self._session.closed:
+            self._session.close()
+
+    def collect(self) -> None:
+        """
+        Drop least recently used tables until the cache fits max_size.
+        Tables in use by running runs are skipped.
+
+        Returns
+        -------
+        None
+        """
+        conn = self.connect()
+        try:
+            with conn.cursor() as cursor:
+                cursor.execute(
+                    sql.SQL("SELECT dataitem_id, table_name, size_bytes FROM {catalog} ORDER BY last_used").format(
+                        catalog=self._catalog()
+                    )
+                )
+                entries = cursor.fetchall()
+                total = sum(e[2] for e in entries)
+                for dataitem_id, table, size in entries:
+                    if total <= self.max_size:
+                        break
+                    cursor.execute("SELECT pg_try_advisory_lock(%s, hashtext(%s))", (LOCK_IN_USE, dataitem_id))
+                    if not cursor.fetchone()[0]:
+                        continue
+                    try:
+                        LOGGER.info(f"Dropping least recently used table '{table}'.")
+                        cursor.execute(
+                            sql.SQL("DROP TABLE IF EXISTS {table}").format(
+                                table=sql.Identifier(self.schema, table)
+                            )
+                        )
+                        cursor.execute(
+                            sql.SQL("DELETE FROM {catalog} WHERE dataitem_id = %s").format(catalog=self._catalog()),
+                            (dataitem_id,),
+                        )
+                        total -= size
+                    finally:
+                        cursor.execute("SELECT pg_advisory_unlock(%s, hashtext(%s))", (LOCK_IN_USE, dataitem_id))
+        finally:
+            conn.close()
+
+    def _is_cached(self, cursor: psycopg2.extensions.cursor, dataitem_id: str, table: str) -> bool:
+        """
+        Check if a dataitem is cached and its table still exists,
+        updating its last use.
+
+        Parameters
+        ----------
+        cursor : psycopg2.extensions.cursor
+            A cursor.
+        dataitem_id : str
+            The dataitem id.
+        table : str
+            The table name.
+
+        Returns
+        -------
+        bool
+            True if the cached table can be reused.
+        """
+        cursor.execute(
+            sql.SQL(
+                "UPDATE {catalog} SET last_used = now() "
+                "WHERE dataitem_id = %s AND table_name = %s AND to_regclass(%s) IS NOT NULL"
+            ).format(catalog=self._catalog()),
+            (dataitem_id, table, self._qualified(table)),
+        )
+        return cursor.rowcount > 0
+
+    def _catalog(self) -> sql.Identifier:
+        """
+        Get the catalog table identifier.
+
+        Returns
+        -------
+        sql.Identifier
+            The identifier.
+        """
+        return sql.Identifier(self.schema, CATALOG_TABLE)
+
+    def _qualified(self, table: str) -> str:
+        """
+        Get the quoted schema qualified name of a table, for to_regclass().
+
+        Parameters
+        ----------
+        table : str
+            The table name.
+
+        Returns
+        -------
+        str
+            The qualified name.
+        """
+        schema = self.schema.replace('"', '""')
+        table = table.replace('"', '""')
+        return f'"{schema}"."{table}"'
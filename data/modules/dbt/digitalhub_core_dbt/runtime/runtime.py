@@ -4,7 +4,10 @@ Runtime DBT module.
 from __future__ import annotations
 
 import os
+import time
 import typing
+from concurrent.futures import FIRST_EXCEPTION, ThreadPoolExecutor, wait
+from datetime import datetime
 from pathlib import Path
 
 import psycopg2
@@ -12,15 +15,20 @@ from dbt.cli.main import dbtRunner, dbtRunnerResult
 from digitalhub_core.entities._base.status import State
 from digitalhub_core.entities.dataitems.crud import get_dataitem, new_dataitem
 from digitalhub_core.runtimes.base import Runtime
+from digitalhub_core.stores.builder import get_default_store, get_store
+from digitalhub_core.stores.objects.base import Store
 from digitalhub_core.utils.exceptions import BackendError, EntityError
 from digitalhub_core.utils.generic_utils import build_uuid, decode_string
 from digitalhub_core.utils.logger import LOGGER
+from digitalhub_core.utils.uri_utils import map_uri_scheme
 from digitalhub_core_dbt.runtime.dbt_utils import (
     generate_dbt_profile_yml,
     generate_dbt_project_yml,
     generate_inputs_conf,
     generate_outputs_conf,
+    remove_stale_models,
 )
+from digitalhub_core_dbt.runtime.materialization import MaterializationCatalog
 from digitalhub_core_dbt.runtime.parse_utils import ParsedResults, parse_results
 from psycopg2 import sql
 
@@ -35,6 +43,23 @@ PASSWORD = os.getenv("POSTGRES_PASSWORD")
 DATABASE = os.getenv("POSTGRES_DATABASE")
 SCHEMA = os.getenv("POSTGRES_SCHEMA", "public")
 
+# Engine executing the transforms. Postgres materializes the inputs in the
+# database, duckdb runs in process on the parquet files of the dataitems.
+ENGINES = ["postgres", "duckdb"]
+ENGINE = os.getenv("DBT_ENGINE", "postgres").lower()
+
+# Inputs fetched and materialized concurrently
+INPUTS_WORKERS = int(os.getenv("DBT_INPUTS_WORKERS", "4"))
+
+# Opt-in persistent cache of materialized inputs and its maximum size in bytes
+MATERIALIZATION_CACHE = os.getenv("DBT_MATERIALIZATION_CACHE", "false").lower() == "true"
+MATERIALIZATION_CACHE_MAX_SIZE = int(os.getenv("DBT_MATERIALIZATION_CACHE_MAX_SIZE", str(10 * 1024**3)))
+
+# Keep the dbt project across runs of the same process and skip "dbt clean",
+# so that the partial parse state left in the target directory lets dbt
+# reparse only the files changed since the previous run
+WARM_RUNTIME = os.getenv("DBT_WARM_RUNTIME", "false").lower() == "true"
+
 
 class RuntimeDBT(Runtime):
     """
@@ -47,8 +72,11 @@ class RuntimeDBT(Runtime):
         """
         self.root_dir = Path("dbt_run")
         self.model_dir = self.root_dir / "models"
-        self._input_dataitems: list[dict[str, str]] = []
+        self._input_dataitems: list[dict] = []
         self._versioned_tables: list[str] = []
+        self._input_files: list[str] = []
+        self._inputs_timings: dict[str, dict] = {}
+        self._catalog: MaterializationCatalog | None = None
 
     def build(self, function: dict, task: dict, run: dict) -> dict:
         """
@@ -93,6 +121,12 @@ class RuntimeDBT(Runtime):
             LOGGER.error(msg)
             raise EntityError(msg)
 
+        # Handle unknown engine
+        if ENGINE not in ENGINES:
+            msg = f"Engine {ENGINE} not supported by DBT runtime. Use one of {ENGINES}."
+            LOGGER.error(msg)
+            raise EntityError(msg)
+
         # Execute action
         return self.execute(run)
 
@@ -102,7 +136,7 @@ class RuntimeDBT(Runtime):
 
     def execute(self, run: dict) -> dict:
         """
-        Execute task.
+        Execute task. The environment is cleaned up whatever the outcome.
 
         Returns
         -------
@@ -110,44 +144,47 @@ class RuntimeDBT(Runtime):
             Status of the executed run.
         """
 
-        # Get run specs
-        LOGGER.info("Starting task.")
-        spec = run.get("spec")
-        project = run.get("project")
-
-        # Parse inputs/outputs and decode sql code
-        LOGGER.info("Parsing inputs and output.")
-        inputs = self._get_inputs(spec.get("inputs", {}).get("dataitems", []), project)
-        output = self._get_output_table_name(spec.get("outputs", {}).get("dataitems", []))
-        query = self._get_sql(spec)
-
-        # Setup environment
-        LOGGER.info("Setting up environment for dbt execution.")
-        uuid = build_uuid()
-        self.setup(inputs, output, uuid, project, query)
-
-        # Execute function
-        LOGGER.info("Executing dbt project.")
-        execution_results = self.transform(output)
-
-        # Parse results
-        LOGGER.info("Parsing results.")
-        parsed_result = parse_results(execution_results, output, project)
-
-        # Create dataitem
-        LOGGER.info("Creating output dataitem.")
-        dataitem = self._create_dataitem(parsed_result, project, uuid, output)
-
-        # Clean environment
-        self.cleanup()
-
-        # Return run status
-        LOGGER.info("Task completed, returning run status.")
-        return {
-            "dataitems": dataitem,
-            "timing": parsed_result.timings,
-            "state": State.COMPLETED.value,
-        }
+        try:
+            # Get run specs
+            LOGGER.info("Starting task.")
+            spec = run.get("spec")
+            project = run.get("project")
+
+            # Parse inputs/outputs and decode sql code
+            LOGGER.info("Parsing inputs and output.")
+            inputs = self._get_inputs(spec.get("inputs", {}).get("dataitems", []), project)
+            output = self._get_output_table_name(spec.get("outputs", {}).get("dataitems", []))
+            query = self._get_sql(spec)
+
+            # Setup environment
+            LOGGER.info("Setting up environment for dbt execution.")
+            uuid = build_uuid()
+            self.setup(inputs, output, uuid, project, query)
+
+            # Execute function
+            LOGGER.info("Executing dbt project.")
+            execution_results = self.transform(output)
+
+            # Parse results
+            LOGGER.info("Parsing results.")
+            parsed_result = parse_results(execution_results, output, project)
+            if ENGINE == "duckdb":
+                parsed_result.path = self._persist_output(project, output, uuid)
+
+            # Create dataitem
+            LOGGER.info("Creating output dataitem.")
+            dataitem = self._create_dataitem(parsed_result, project, uuid, output)
+
+            # Return run status
+            LOGGER.info("Task completed, returning run status.")
+            return {
+                "dataitems": dataitem,
+                "timing": {**parsed_result.timings, "inputs": self._inputs_timings},
+                "state": State.COMPLETED.value,
+            }
+        finally:
+            # Clean environment, also when a step fails
+            self.cleanup()
 
     ####################
     # Parse inputs/outputs
@@ -156,6 +193,14 @@ class RuntimeDBT(Runtime):
     def _get_inputs(self, inputs: list, project: str) -> list:
         """
         Parse inputs from run spec and materialize dataitems in postgres.
+        With the duckdb engine, dataitems are read in place from their files.
+        Inputs are fetched and materialized concurrently by at most
+        INPUTS_WORKERS workers. On the first failure, inputs not started yet
+        are cancelled. Every materialized table is recorded, so that it is
+        dropped on cleanup even if another input fails. Inputs stored
+        in the dbt database are referenced in place and never dropped. If
+        DBT_MATERIALIZATION_CACHE is enabled, tables are kept in a persistent
+        cache and reused by later runs reading the same dataitem versions.
 
         Parameters
         ----------
@@ -169,13 +214,102 @@ class RuntimeDBT(Runtime):
         list
             The list of inputs dataitems names.
         """
-        for name in inputs:
-            di = self._get_dataitem(name, project)
-            self._input_dataitems.append({"name": di.name, "id": di.id})
-            table = self._materialize_dataitem(di, name)
-            self._versioned_tables.append(table)
+        if not inputs:
+            return self._versioned_tables
+        if MATERIALIZATION_CACHE and ENGINE == "postgres":
+            self._catalog = MaterializationCatalog(self._get_connection, SCHEMA, MATERIALIZATION_CACHE_MAX_SIZE)
+        with ThreadPoolExecutor(max_workers=min(INPUTS_WORKERS, len(inputs))) as executor:
+            futures = [executor.submit(self._get_input, name, project) for name in inputs]
+            _, pending = wait(futures, return_when=FIRST_EXCEPTION)
+            # Inputs not started yet are skipped, running ones are waited for
+            for future in pending:
+                future.cancel()
+        for name, future in zip(inputs, futures):
+            if future.cancelled() or future.exception() is not None:
+                continue
+            di, table, source, timings = future.result()
+            self._input_dataitems.append({"name": di.name, "id": di.id, "source": source})
+            if table is not None:
+                self._versioned_tables.append(table)
+            self._inputs_timings[name] = timings
+        for future in futures:
+            if not future.cancelled() and future.exception() is not None:
+                raise future.exception()
         return self._versioned_tables
 
+    def _get_input(self, name: str, project: str) -> tuple[Dataitem, str | None, str | None, dict]:
+        """
+        Get a dataitem and materialize it in postgres, timing both steps.
+        Dataitems already stored in the dbt database are not materialized,
+        nor are dataitems read by the duckdb engine.
+        With the materialization cache, a table already materialized for the
+        same dataitem id is reused.
+
+        Parameters
+        ----------
+        name : str
+            The dataitem name.
+        project : str
+            The project name.
+
+        Returns
+        -------
+        tuple[Dataitem, str | None, str | None, dict]
+            The dataitem, the materialized table name (None if referenced
+            in place), the relation it is referenced by in place (None if
+            materialized) and the timings.
+        """
+        fetch = self._start_timing()
+        di = self._get_dataitem(name, project)
+        self._stop_timing(fetch)
+        materialize = self._start_timing()
+        table, source = None, None
+        sql_source = self._get_sql_source(di)
+        if ENGINE == "duckdb":
+            source = self._read_dataitem(di, name)
+        elif sql_source is not None:
+            LOGGER.info(f"Dataitem '{name}' is stored in '{DATABASE}', referencing it in place.")
+            source = ".".join('"' + part.replace('"', '""') + '"' for part in sql_source)
+        elif self._catalog is not None:
+            table = self._catalog.get_or_materialize(
+                di.id,
+                f"{name}_v{di.id}",
+                lambda: self._materialize_dataitem(di, name, unlogged=False),
+            )
+        else:
+            table = self._materialize_dataitem(di, name)
+        self._stop_timing(materialize)
+        return di, table, source, {"fetch": fetch, "materialize": materialize}
+
+    @staticmethod
+    def _start_timing() -> dict:
+        """
+        Start timing a step.
+
+        Returns
+        -------
+        dict
+            The step timing.
+        """
+        return {"started_at": datetime.now().astimezone().isoformat(), "_start": time.perf_counter()}
+
+    @staticmethod
+    def _stop_timing(timing: dict) -> None:
+        """
+        Stop timing a step, setting completion time and duration in seconds.
+
+        Parameters
+        ----------
+        timing : dict
+            The step timing.
+
+        Returns
+        -------
+        None
+        """
+        timing["completed_at"] = datetime.now().astimezone().isoformat()
+        timing["duration"] = time.perf_counter() - timing.pop("_start")
+
     @staticmethod
     def _get_dataitem(name: str, project: str) -> Dataitem:
         """
@@ -207,7 +341,36 @@ class RuntimeDBT(Runtime):
             raise BackendError(msg)
 
     @staticmethod
-    def _materialize_dataitem(dataitem: Dataitem, name: str) -> str:
+    def _get_sql_source(dataitem: Dataitem) -> tuple[str, str] | None:
+        """
+        Get schema and table of a dataitem stored in the dbt database,
+        i.e. read through a SQL store connected to the same host, port
+        and database of the dbt profile.
+
+        Parameters
+        ----------
+        dataitem : Dataitem
+            The dataitem.
+
+        Returns
+        -------
+        tuple[str, str] | None
+            Schema and table, None if the dataitem is stored elsewhere.
+        """
+        path = dataitem.spec.path
+        if path is None or not path.startswith("sql://"):
+            return None
+        components = path[len("sql://") :].split("/")
+        if not (2 <= len(components) <= 3) or components[0] != DATABASE:
+            return None
+        config = get_store(path).config
+        if (str(config.host), str(config.port), str(config.database)) != (HOST, PORT, DATABASE):
+            return None
+        schema = components[1] if len(components) == 3 else "public"
+        return schema, components[-1]
+
+    @staticmethod
+    def _materialize_dataitem(dataitem: Dataitem, name: str, unlogged: bool = True) -> str:
         """
         Materialize dataitem in postgres.
 
@@ -217,6 +380,9 @@ class RuntimeDBT(Runtime):
             The dataitem.
         name : str
             The dataitem name.
+        unlogged : bool
+            Whether to create an unlogged table. Tables kept across runs
+            must be logged to survive a database crash.
 
         Returns
         -------
@@ -232,13 +398,60 @@ class RuntimeDBT(Runtime):
             table_name = f"{name}_v{dataitem.id}"
             LOGGER.info(f"Materializing dataitem '{name}' as '{table_name}'.")
             target_path = f"sql://{DATABASE}/{SCHEMA}/{table_name}"
-            dataitem.write_df(target_path, if_exists="replace")
+            dataitem.write_df(target_path, if_exists="replace", bulk=True, unlogged=unlogged)
             return table_name
         except Exception:
             msg = f"Something got wrong during dataitem {name} materialization."
             LOGGER.exception(msg)
             raise EntityError(msg)
 
+    def _read_dataitem(self, dataitem: Dataitem, name: str) -> str:
+        """
+        Get the duckdb relation reading a dataitem from its files. Remote
+        files are downloaded and dataitems stored in a database are streamed
+        into parquet files by their store, in temporary folders removed by
+        cleanup().
+
+        Parameters
+        ----------
+        dataitem : Dataitem
+            The dataitem.
+        name : str
+            The dataitem name.
+
+        Returns
+        -------
+        str
+            The relation, a read_parquet() or read_csv_auto() call.
+
+        Raises
+        ------
+        EntityError
+            If something got wrong while reading the dataitem.
+        """
+        try:
+            path = dataitem.spec.path
+            if map_uri_scheme(path) == "local":
+                local = Path(path).resolve()
+            else:
+                # SQL tables are streamed into parquet files by the store
+                LOGGER.info(f"Downloading dataitem '{name}'.")
+                local = Path(get_store(path).download(path)).resolve()
+                self._input_files.append(str(local))
+
+            # Partitioned dataitems are directories of parquet files
+            if local.is_dir():
+                glob = str(local / "**" / "*.parquet").replace("'", "''")
+                return f"read_parquet('{glob}')"
+            escaped = str(local).replace("'", "''")
+            if local.suffix == ".csv":
+                return f"read_csv_auto('{escaped}')"
+            return f"read_parquet('{escaped}')"
+        except Exception:
+            msg = f"Something got wrong while reading dataitem {name}."
+            LOGGER.exception(msg)
+            raise EntityError(msg)
+
     @staticmethod
     def _get_output_table_name(outputs: list) -> str:
         """
@@ -320,17 +533,21 @@ class RuntimeDBT(Runtime):
         self.model_dir.mkdir(exist_ok=True, parents=True)
 
         # Generate profile yaml file
-        generate_dbt_profile_yml(self.root_dir)
+        generate_dbt_profile_yml(self.root_dir, ENGINE)
 
         # Generate project yaml file
-        generate_dbt_project_yml(self.root_dir, self.model_dir, project.replace("-", "_"))
+        generate_dbt_project_yml(self.root_dir, self.model_dir, project.replace("-", "_"), ENGINE)
 
         # Generate outputs confs
-        generate_outputs_conf(self.model_dir, query, output, uuid)
+        location = str(self._get_output_file(output, uuid)) if ENGINE == "duckdb" else None
+        models = generate_outputs_conf(self.model_dir, query, output, uuid, location)
 
         # Generate inputs confs for every dataitem
         for di in self._input_dataitems:
-            generate_inputs_conf(self.model_dir, di["name"], di["id"])
+            models.extend(generate_inputs_conf(self.model_dir, di["name"], di["id"], di["source"]))
+
+        # Drop models of previous runs, kept by the warm runtime
+        remove_stale_models(self.model_dir, models)
 
     ####################
     # Execute function
@@ -340,6 +557,8 @@ class RuntimeDBT(Runtime):
         """
         Execute a dbt project with the specified outputs.
         It initializes a dbt runner, cleans the project and runs it.
+        With DBT_WARM_RUNTIME enabled, the project is not cleaned, so
+        dbt partial parsing reuses the parse state of the previous run.
 
         Parameters
         ----------
@@ -351,18 +570,71 @@ class RuntimeDBT(Runtime):
         dbtRunnerResult
             An object representing the result of the dbt execution.
         """
-        os.chdir(self.root_dir)
+        dirs = ["--project-dir", str(self.root_dir), "--profiles-dir", str(self.root_dir)]
         dbt = dbtRunner()
-        dbt.invoke("clean")
-        cli_args = ["run", "--select", f"{output}"]
-        res = dbt.invoke(cli_args)
-        os.chdir("..")
-        return res
+        if not WARM_RUNTIME:
+            dbt.invoke(["clean", *dirs])
+        return dbt.invoke(["run", "--select", f"{output}", *dirs])
 
     ####################
     # Produce outputs
     ####################
 
+    def _get_output_file(self, output: str, uuid: str) -> Path:
+        """
+        Get the local parquet file the duckdb engine writes the output to.
+
+        Parameters
+        ----------
+        output : str
+            The output table name.
+        uuid : str
+            The uuid of the model for outputs versioning.
+
+        Returns
+        -------
+        Path
+            The output file.
+        """
+        path = (self.root_dir / "outputs" / f"{output}_v{uuid}.parquet").resolve()
+        path.parent.mkdir(parents=True, exist_ok=True)
+        return path
+
+    def _persist_output(self, project: str, output: str, uuid: str) -> str:
+        """
+        Persist the output written by the duckdb engine in the default store.
+
+        Parameters
+        ----------
+        project : str
+            The project name.
+        output : str
+            The output table name.
+        uuid : str
+            The uuid of the model for outputs versioning.
+
+        Returns
+        -------
+        str
+            The output path in the default store.
+
+        Raises
+        ------
+        RuntimeError
+            If something got wrong while persisting the output.
+        """
+        src = self._get_output_file(output, uuid)
+        try:
+            LOGGER.info(f"Persisting output '{output}' in the default store.")
+            dst = f"{project}/dataitems/dataitem/{output}/{uuid}/data.parquet"
+            return get_default_store().persist_artifact(str(src), dst)
+        except Exception:
+            msg = "Something got wrong while persisting the output."
+            LOGGER.exception(msg)
+            raise RuntimeError(msg)
+        finally:
+            src.unlink(missing_ok=True)
+
     @staticmethod
     def _create_dataitem(result: ParsedResults, project: str, uuid: str, output: str) -> list[dict]:
         """
@@ -417,13 +689,32 @@ class RuntimeDBT(Runtime):
 
     def cleanup(self) -> None:
         """
-        Cleanup environment.
+        Cleanup environment. Downloaded input files are removed. Materialized
+        tables are dropped, unless the materialization cache is enabled: then
+        they are released and only the least recently used ones are dropped
+        to fit the cache size.
 
         Returns
         -------
         None
         """
         LOGGER.info("Cleaning up environment.")
+        for path in self._input_files:
+            Store._remove_temp(path)
+        self._input_files = []
+        if self._catalog is not None:
+            catalog, self._catalog = self._catalog, None
+            try:
+                catalog.collect()
+            except Exception:
+                msg = "Something got wrong during environment cleanup."
+                LOGGER.exception(msg)
+                raise RuntimeError(msg)
+            finally:
+                catalog.release()
+            return
+        if not self._versioned_tables:
+            return
         connection = self._get_connection()
         try:
             for table in self._versioned_tables: